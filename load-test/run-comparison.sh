@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Compara latencia (p50/p99 das respostas bem-sucedidas) e vazao da API com threads de plataforma e com threads virtuais.
+# Requer JDK 21 no PATH. Uso: ./run-comparison.sh [concurrency] [duration_s] [scenario]
+# O controle de admissao e desligado para medir as threads, e nao o descarte com 503 (contado em shed).
+set -euo pipefail
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30}
+SCENARIO=${3:-mixed}
+PORT=${PORT:-8080}
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+
+(cd "$ROOT_DIR" && sh ./mvnw -q -B -Pjava21 -DskipTests package)
+(cd "$ROOT_DIR/load-test" && sh ../mvnw -q -B compile)
+
+JAR=$(ls "$ROOT_DIR"/target/spring-security-api-*.jar | grep -v original | head -n 1)
+
+for MODE in platform virtual-threads; do
+  PROFILE_ARG=""
+  if [ "$MODE" = "virtual-threads" ]; then
+    PROFILE_ARG="--spring.profiles.active=virtual-threads"
+  fi
+
+  java -jar "$JAR" --server.port="$PORT" --products.admission.enabled=false $PROFILE_ARG > "$ROOT_DIR/target/load-test-$MODE.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  (cd "$ROOT_DIR/load-test" && sh ../mvnw -q -B exec:java -Dexec.args="--url=http://localhost:$PORT/api/products/v1 \
+    --concurrency=$CONCURRENCY --duration=$DURATION --scenario=$SCENARIO --label=$MODE")
+
+  kill $APP_PID
+  wait $APP_PID 2>/dev/null || true
+done
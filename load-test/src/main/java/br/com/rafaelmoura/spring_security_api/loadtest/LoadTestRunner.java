@@ -0,0 +1,165 @@
+package br.com.rafaelmoura.spring_security_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTestRunner {
+
+    public static final int SEED_PRODUCTS = 1_000;
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080/api/products/v1");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String scenario = options.getOrDefault("scenario", "mixed");
+        String label = options.getOrDefault("label", "run");
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+
+        seed(httpClient, baseUrl);
+
+        run(httpClient, baseUrl, scenario, concurrency, warmup);
+        Result result = run(httpClient, baseUrl, scenario, concurrency, duration);
+
+        System.out.printf(Locale.ROOT,
+                "label=%s scenario=%s concurrency=%d requests=%d successes=%d errors=%d shed=%d throughput_rps=%.1f p50_ms=%.2f p99_ms=%.2f max_ms=%.2f%n",
+                label, scenario, concurrency, result.latencies.length + result.errors + result.shed,
+                result.latencies.length, result.errors, result.shed,
+                result.latencies.length / (duration.toNanos() / 1_000_000_000.0),
+                percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+                percentile(result.latencies, 1.0));
+        System.exit(0);
+    }
+
+    private static void seed(HttpClient httpClient, String baseUrl) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_PRODUCTS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(String.format(Locale.ROOT,
+                    "{\"product\":\"Produto %d\",\"serialNumber\":\"%s\",\"price\":10.00,\"quantity\":100}", i, serial(i)));
+        }
+        body.append(']');
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha ao popular o catalogo: HTTP " + response.statusCode());
+        }
+    }
+
+    private static Result run(HttpClient httpClient, String baseUrl, String scenario, int concurrency,
+                              Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+
+        for (int worker = 0; worker < concurrency; worker++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(baseUrl, scenario, random);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == SERVICE_UNAVAILABLE) {
+                            shed.incrementAndGet();
+                            continue;
+                        }
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> results = new ArrayList<>(concurrency);
+        for (Future<long[]> future : futures) {
+            results.add(future.get());
+        }
+        workers.shutdown();
+
+        long[] latencies = results.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(latencies, errors.get(), shed.get());
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, String scenario, ThreadLocalRandom random) {
+        String serial = serial(random.nextInt(SEED_PRODUCTS));
+        boolean write = "mixed".equals(scenario) ? random.nextInt(10) == 0 : "write".equals(scenario);
+
+        if (write) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/" + serial + "/stock"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":1}"))
+                    .build();
+        }
+        if ("list".equals(scenario)) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "?size=50&page=" + random.nextInt(SEED_PRODUCTS / 50)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/" + serial))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static String serial(int index) {
+        return String.format(Locale.ROOT, "LOAD%07d", index);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento invalido [" + arg + "], use --chave=valor "
+                        + "(url, concurrency, warmup, duration, scenario=lookup|list|write|mixed, label)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private record Result(long[] latencies, long errors, long shed) {
+    }
+}
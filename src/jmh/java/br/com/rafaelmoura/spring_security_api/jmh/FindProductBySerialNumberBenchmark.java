@@ -0,0 +1,82 @@
+package br.com.rafaelmoura.spring_security_api.jmh;
+
+import br.com.rafaelmoura.spring_security_api.SpringSecurityApiApplication;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class FindProductBySerialNumberBenchmark {
+
+    public static final int CATALOG_SIZE = 1_000_000;
+    public static final int INSERT_CHUNK = 10_000;
+    public static final int HOT_SERIALS = 1_000;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ConfigurableApplicationContext applicationContext;
+    private ProductService productService;
+    private String[] hotSerials;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(SpringSecurityApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("products.cache.enabled=" + cacheEnabled, "logging.level.root=WARN")
+                .run();
+        productService = applicationContext.getBean(ProductService.class);
+
+        JdbcTemplate jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
+        for (int chunk = 0; chunk < CATALOG_SIZE; chunk += INSERT_CHUNK) {
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+            for (int i = chunk; i < chunk + INSERT_CHUNK; i++) {
+                rows.add(new Object[]{"Produto " + i, serialNumber(i), BigDecimal.valueOf(10), 1});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                            + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                    rows);
+        }
+
+        hotSerials = new String[HOT_SERIALS];
+        for (int i = 0; i < HOT_SERIALS; i++) {
+            hotSerials[i] = serialNumber(ThreadLocalRandom.current().nextInt(CATALOG_SIZE));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public ProductResponseDTO findHotSerialNumber() throws ProductNotFoundException, ProductLookupTimeoutException {
+        return productService.findProductBySerialNumber(hotSerials[ThreadLocalRandom.current().nextInt(HOT_SERIALS)]);
+    }
+
+    @Benchmark
+    public ProductResponseDTO findRandomSerialNumber() throws ProductNotFoundException, ProductLookupTimeoutException {
+        return productService.findProductBySerialNumber(serialNumber(ThreadLocalRandom.current().nextInt(CATALOG_SIZE)));
+    }
+
+    private static String serialNumber(int i) {
+        return String.format("JMH%08d", i);
+    }
+}
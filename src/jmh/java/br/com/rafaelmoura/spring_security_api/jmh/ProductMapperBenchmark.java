@@ -0,0 +1,43 @@
+package br.com.rafaelmoura.spring_security_api.jmh;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .product("Cabo USB tipo C")
+                .serialNumber("AAASD93847")
+                .price(BigDecimal.valueOf(3049.44))
+                .quantity(23)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public ProductResponseDTO builder() {
+        return ProductServiceImplMapper.entityProductToProductResponseDTO(product);
+    }
+
+    @Benchmark
+    public ProductResponseDTO constructor() {
+        return new ProductResponseDTO(product.getProduct(), product.getSerialNumber(), product.getPrice(),
+                product.getQuantity(), product.getVersion(), product.getId());
+    }
+}
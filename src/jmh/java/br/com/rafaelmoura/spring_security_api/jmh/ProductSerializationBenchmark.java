@@ -0,0 +1,61 @@
+package br.com.rafaelmoura.spring_security_api.jmh;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ProductResponseDTO productResponseDTO;
+    private PageableResponseDTO pageableResponseDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ProductResponseDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(ProductResponseDTO.builder()
+                    .product("Produto " + i)
+                    .serialNumber(String.format("JMH%08d", i))
+                    .price(BigDecimal.valueOf(10 + i, 2))
+                    .quantity(i)
+                    .build());
+        }
+        productResponseDTO = content.get(0);
+        pageableResponseDTO = PageableResponseDTO.builder()
+                .content(content)
+                .pageNumber(0)
+                .firstPage(true)
+                .lastPage(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] product() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productResponseDTO);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageableResponseDTO);
+    }
+}
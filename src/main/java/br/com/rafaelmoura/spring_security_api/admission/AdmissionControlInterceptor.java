@@ -0,0 +1,189 @@
+package br.com.rafaelmoura.spring_security_api.admission;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.AdmissionRejectedException;
+import br.com.rafaelmoura.spring_security_api.model.enums.AdmissionBudget;
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.FixedLimit;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limit.VegasLimit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String LIMIT_GAUGE = "products.admission.limit";
+    public static final String INFLIGHT_GAUGE = "products.admission.inflight";
+    public static final String REJECTED_COUNTER = "products.admission.rejected";
+    public static final String SCOPE_ENDPOINT = "endpoint";
+    public static final String SCOPE_BUDGET = "budget";
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControlProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+    private final Map<AdmissionBudget, Admission> budgets = new EnumMap<>(AdmissionBudget.class);
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public AdmissionControlInterceptor(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+
+        for (AdmissionBudget budget : AdmissionBudget.values()) {
+            int limit = properties.getBudgets().getOrDefault(budget, properties.getMaxLimit());
+            budgets.put(budget, admission(SCOPE_BUDGET, budget.name().toLowerCase(), FixedLimit.of(limit)));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        Endpoint endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(),
+                method -> endpoint(method, request.getMethod()));
+
+        Limiter.Listener endpointListener = acquire(endpoint.admission());
+        Admission budget = budgets.get(endpoint.budget());
+        Optional<Limiter.Listener> budgetListener = budget.limiter().acquire(null);
+        if (budgetListener.isEmpty()) {
+            endpointListener.onIgnore();
+            throw reject(budget);
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(endpointListener, budgetListener.get()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+
+        if (ex != null) {
+            permit.ignore();
+        } else if (response.getStatus() >= 500) {
+            permit.dropped();
+        } else {
+            permit.success();
+        }
+    }
+
+    private Limiter.Listener acquire(Admission admission) throws AdmissionRejectedException {
+        Optional<Limiter.Listener> listener = admission.limiter().acquire(null);
+        if (listener.isEmpty()) {
+            throw reject(admission);
+        }
+        return listener.get();
+    }
+
+    private AdmissionRejectedException reject(Admission admission) {
+        admission.rejected().increment();
+        log.debug("Requisicao rejeitada pelo limite de concorrencia [{}] de [{}] em [{}]", admission.scope(),
+                admission.name(), admission.limiter().getLimit());
+        return new AdmissionRejectedException("Servico sobrecarregado, tente novamente em " + retryAfterSeconds
+                + " segundo(s)", retryAfterSeconds);
+    }
+
+    private Endpoint endpoint(Method method, String httpMethod) {
+        AdmissionControlProperties.Endpoint override = properties.getEndpoints().get(method.getName());
+
+        AdmissionBudget budget = override != null && override.getBudget() != null
+                ? override.getBudget()
+                : HttpMethod.GET.matches(httpMethod) || HttpMethod.HEAD.matches(httpMethod)
+                ? AdmissionBudget.READ
+                : AdmissionBudget.WRITE;
+        int maxLimit = override != null && override.getMaxLimit() != null
+                ? override.getMaxLimit()
+                : properties.getMaxLimit();
+
+        return new Endpoint(admission(SCOPE_ENDPOINT, method.getName(), limit(maxLimit)), budget);
+    }
+
+    private Limit limit(int maxLimit) {
+        int initialLimit = Math.min(properties.getInitialLimit(), maxLimit);
+        return switch (properties.getAlgorithm()) {
+            case GRADIENT2 -> Gradient2Limit.newBuilder()
+                    .initialLimit(initialLimit)
+                    .minLimit(Math.min(properties.getMinLimit(), initialLimit))
+                    .maxConcurrency(maxLimit)
+                    .build();
+            case VEGAS -> VegasLimit.newBuilder()
+                    .initialLimit(initialLimit)
+                    .maxConcurrency(maxLimit)
+                    .build();
+            case FIXED -> FixedLimit.of(maxLimit);
+        };
+    }
+
+    private Admission admission(String scope, String name, Limit limit) {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder()
+                .named(name)
+                .limit(limit)
+                .build();
+
+        Gauge.builder(LIMIT_GAUGE, limiter, SimpleLimiter::getLimit)
+                .description("Limite atual de requisicoes simultaneas admitidas")
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(INFLIGHT_GAUGE, limiter, SimpleLimiter::getInflight)
+                .description("Requisicoes admitidas em andamento")
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder(REJECTED_COUNTER)
+                .description("Requisicoes rejeitadas por excesso de concorrencia")
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return new Admission(scope, name, limiter, rejected);
+    }
+
+    private record Admission(String scope, String name, SimpleLimiter<Void> limiter, Counter rejected) {
+    }
+
+    private record Endpoint(Admission admission, AdmissionBudget budget) {
+    }
+
+    private record Permit(Limiter.Listener endpoint, Limiter.Listener budget) {
+
+        void success() {
+            endpoint.onSuccess();
+            budget.onSuccess();
+        }
+
+        void dropped() {
+            endpoint.onDropped();
+            budget.onDropped();
+        }
+
+        void ignore() {
+            endpoint.onIgnore();
+            budget.onIgnore();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.rafaelmoura.spring_security_api.admission;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.AdmissionBudget;
+import br.com.rafaelmoura.spring_security_api.model.enums.ConcurrencyLimitAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "products.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+    private ConcurrencyLimitAlgorithm algorithm = ConcurrencyLimitAlgorithm.VEGAS;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Map<AdmissionBudget, Integer> budgets = new EnumMap<>(Map.of(
+            AdmissionBudget.READ, 100,
+            AdmissionBudget.WRITE, 5));
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Data
+    public static class Endpoint {
+        private AdmissionBudget budget;
+        private Integer maxLimit;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+@Component
+public class ProductCache {
+
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCTS_NOT_FOUND_CACHE = "productsNotFound";
+
+    private static final Comparator<ProductResponseDTO> VERSION_ORDER = Comparator
+            .comparing(ProductResponseDTO::getId)
+            .thenComparing(ProductResponseDTO::getVersion);
+
+    private final boolean enabled;
+    private final boolean notFoundEnabled;
+    private final Cache<String, ProductResponseDTO> products;
+    private final Cache<String, Boolean> productsNotFound;
+
+    public ProductCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.notFoundEnabled = properties.isEnabled() && properties.getNotFound().isEnabled();
+
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        this.productsNotFound = Caffeine.newBuilder()
+                .maximumSize(properties.getNotFound().getMaximumSize())
+                .expireAfterWrite(properties.getNotFound().getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, products, PRODUCTS_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, productsNotFound, PRODUCTS_NOT_FOUND_CACHE);
+    }
+
+    public Optional<ProductResponseDTO> get(String serialNumber) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(products.getIfPresent(serialNumber));
+    }
+
+    public void put(ProductResponseDTO productResponseDTO) {
+        if (!enabled) {
+            return;
+        }
+        productsNotFound.invalidate(productResponseDTO.getSerialNumber());
+        products.asMap().merge(productResponseDTO.getSerialNumber(), productResponseDTO, ProductCache::newer);
+    }
+
+    public Optional<ProductResponseDTO> addQuantity(String serialNumber, int quantity) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(products.asMap().computeIfPresent(serialNumber, (key, productResponseDTO) ->
+                ProductResponseDTO.builder()
+                        .product(productResponseDTO.getProduct())
+                        .serialNumber(productResponseDTO.getSerialNumber())
+                        .price(productResponseDTO.getPrice())
+                        .quantity(Math.addExact(productResponseDTO.getQuantity(), quantity))
+                        .version(productResponseDTO.getVersion() == null ? null : productResponseDTO.getVersion() + 1)
+                        .id(productResponseDTO.getId())
+                        .build()));
+    }
+
+    public boolean isKnownMissing(String serialNumber) {
+        return notFoundEnabled && productsNotFound.getIfPresent(serialNumber) != null;
+    }
+
+    public void markMissing(String serialNumber) {
+        if (notFoundEnabled) {
+            productsNotFound.put(serialNumber, Boolean.TRUE);
+        }
+    }
+
+    private static ProductResponseDTO newer(ProductResponseDTO current, ProductResponseDTO candidate) {
+        if (current.getId() == null || current.getVersion() == null
+                || candidate.getId() == null || candidate.getVersion() == null) {
+            return candidate;
+        }
+        return VERSION_ORDER.compare(candidate, current) >= 0 ? candidate : current;
+    }
+
+    public void evict(String serialNumber) {
+        products.invalidate(serialNumber);
+        productsNotFound.invalidate(serialNumber);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "products.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private Duration expireAfterWrite = Duration.ofSeconds(60);
+    private NotFound notFound = new NotFound();
+    private Count count = new Count();
+    private Coalescing coalescing = new Coalescing();
+
+    @Data
+    public static class NotFound {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private Duration expireAfterWrite = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Count {
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+}
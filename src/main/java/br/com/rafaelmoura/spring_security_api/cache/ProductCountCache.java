@@ -0,0 +1,68 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCountCache {
+
+    private final ProductRepository productRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Long count;
+    private volatile Long lastCount;
+
+    public long get() {
+        Long cachedCount = count;
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        Long previousCount = lastCount;
+        if (previousCount == null) {
+            loadLock.lock();
+        } else if (!loadLock.tryLock()) {
+            return previousCount;
+        }
+        try {
+            cachedCount = count;
+            return cachedCount != null ? cachedCount : load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        count = null;
+    }
+
+    @Scheduled(fixedDelayString = "${products.cache.count.refresh-interval:PT30S}")
+    public void refresh() {
+        loadLock.lock();
+        try {
+            long refreshedCount = load();
+            log.debug("Total de produtos em cache atualizado para [{}]", refreshedCount);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private long load() {
+        long currentGeneration = generation.get();
+        long loadedCount = productRepository.count();
+        lastCount = loadedCount;
+        if (generation.get() == currentGeneration) {
+            count = loadedCount;
+        }
+        return loadedCount;
+    }
+}
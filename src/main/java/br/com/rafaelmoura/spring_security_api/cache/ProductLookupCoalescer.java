@@ -0,0 +1,102 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ProductLookupCoalescer {
+
+    public static final String COALESCED_COUNTER = "products.lookup.coalesced";
+    public static final String IN_FLIGHT_GAUGE = "products.lookup.in_flight";
+    public static final String WAITING_GAUGE = "products.lookup.waiting";
+
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final ConcurrentMap<String, CompletableFuture<Optional<ProductResponseDTO>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingLookups = new AtomicInteger();
+    private final Counter sharedLookups;
+    private final Counter timedOutLookups;
+
+    public ProductLookupCoalescer(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.getCoalescing().isEnabled();
+        this.maxWaitMillis = properties.getCoalescing().getMaxWait().toMillis();
+        this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMillis + 999));
+
+        this.sharedLookups = Counter.builder(COALESCED_COUNTER)
+                .description("Buscas por serialNumber que aguardaram uma consulta ja em andamento")
+                .tag("result", "shared")
+                .register(meterRegistry);
+        this.timedOutLookups = Counter.builder(COALESCED_COUNTER)
+                .description("Buscas por serialNumber que aguardaram uma consulta ja em andamento")
+                .tag("result", "timeout")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, ConcurrentMap::size)
+                .description("Consultas por serialNumber em andamento")
+                .register(meterRegistry);
+        Gauge.builder(WAITING_GAUGE, waitingLookups, AtomicInteger::get)
+                .description("Buscas por serialNumber aguardando uma consulta ja em andamento")
+                .register(meterRegistry);
+    }
+
+    public Optional<ProductResponseDTO> load(String serialNumber, Supplier<Optional<ProductResponseDTO>> loader)
+            throws ProductLookupTimeoutException {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<Optional<ProductResponseDTO>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<ProductResponseDTO>> inFlightLookup = inFlight.putIfAbsent(serialNumber, lookup);
+        if (inFlightLookup == null) {
+            try {
+                Optional<ProductResponseDTO> productResponseDTO = loader.get();
+                lookup.complete(productResponseDTO);
+                return productResponseDTO;
+            } catch (RuntimeException ex) {
+                lookup.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(serialNumber, lookup);
+            }
+        }
+
+        return await(serialNumber, inFlightLookup);
+    }
+
+    private Optional<ProductResponseDTO> await(String serialNumber,
+                                               CompletableFuture<Optional<ProductResponseDTO>> inFlightLookup)
+            throws ProductLookupTimeoutException {
+        waitingLookups.incrementAndGet();
+        try {
+            Optional<ProductResponseDTO> productResponseDTO = inFlightLookup.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            sharedLookups.increment();
+            return productResponseDTO;
+        } catch (TimeoutException ex) {
+            timedOutLookups.increment();
+            log.warn("Tempo de espera esgotado pela busca em andamento do serialNumber [{}]", serialNumber);
+            throw new ProductLookupTimeoutException("Busca do produto demorou mais que o esperado, tente novamente em "
+                    + retryAfterSeconds + " segundo(s)", retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } finally {
+            waitingLookups.decrementAndGet();
+        }
+    }
+}
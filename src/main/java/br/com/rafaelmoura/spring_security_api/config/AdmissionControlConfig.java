@@ -0,0 +1,34 @@
+package br.com.rafaelmoura.spring_security_api.config;
+
+import br.com.rafaelmoura.spring_security_api.admission.AdmissionControlInterceptor;
+import br.com.rafaelmoura.spring_security_api.admission.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "products.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionControlInterceptor admissionControlInterceptor(AdmissionControlProperties admissionControlProperties,
+                                                                   MeterRegistry meterRegistry) {
+        return new AdmissionControlInterceptor(admissionControlProperties, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionControlWebMvcConfigurer(
+            ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                admissionControlInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                        .addPathPatterns("/api/**"));
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.rafaelmoura.spring_security_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "products.bulk")
+public class ProductBulkProperties {
+
+    private int chunkSize = 500;
+    private int maxItems = 100_000;
+}
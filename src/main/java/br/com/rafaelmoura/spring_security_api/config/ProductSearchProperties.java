@@ -0,0 +1,12 @@
+package br.com.rafaelmoura.spring_security_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "products.search")
+public class ProductSearchProperties {
+
+    private int defaultLimit = 10;
+    private int maxLimit = 50;
+}
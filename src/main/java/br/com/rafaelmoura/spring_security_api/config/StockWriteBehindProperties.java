@@ -0,0 +1,15 @@
+package br.com.rafaelmoura.spring_security_api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "products.stock.write-behind")
+public class StockWriteBehindProperties {
+
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private long maxPendingEvents = 10_000;
+}
@@ -1,16 +1,42 @@
 package br.com.rafaelmoura.spring_security_api.controller;
 
+import br.com.rafaelmoura.spring_security_api.exceptions.BulkLimitExceededException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InsufficientStockException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidCursorException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidFilterException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidStockAdjustmentException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
 import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.StockAdjustmentRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+import br.com.rafaelmoura.spring_security_api.service.ProductExportService;
 import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/api/products")
@@ -19,68 +45,206 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping(value = "/v1")
     public ResponseEntity<ProductResponseDTO> insertProduct(@RequestBody ProductRequestDTO productRequestDTO) {
-        log.info("Iniciando fluxo para inserir [{}] unidades do produto [{}] com serialNumber [{}]",
+        log.debug("Iniciando fluxo para inserir [{}] unidades do produto [{}] com serialNumber [{}]",
                 productRequestDTO.getQuantity(), productRequestDTO.getProduct(), productRequestDTO.getSerialNumber());
 
         ProductResponseDTO productResponseDTO = productService.insertProduct(productRequestDTO);
 
-        log.info("Finalizando fluxo para inserir o produto [{}] com serialNumber [{}]",
+        log.debug("Finalizando fluxo para inserir o produto [{}] com serialNumber [{}]",
                 productRequestDTO.getProduct(), productRequestDTO.getSerialNumber());
 
         return new ResponseEntity<>(productResponseDTO, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/v1/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkInsertResponseDTO> insertProducts(@RequestBody List<ProductRequestDTO> productRequestDTOs)
+            throws BulkLimitExceededException {
+        log.debug("Iniciando fluxo para inserir em lote [{}] itens", productRequestDTOs.size());
+
+        BulkInsertResponseDTO bulkInsertResponseDTO = productService.insertProducts(productRequestDTOs);
+
+        log.debug("Finalizando fluxo para inserir em lote [{}] itens", productRequestDTOs.size());
+
+        return new ResponseEntity<>(bulkInsertResponseDTO, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/v1/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkInsertResponseDTO> insertProductsFromNdjson(InputStream inputStream)
+            throws IOException, BulkLimitExceededException {
+        log.debug("Iniciando fluxo para inserir em lote a partir de NDJSON");
+
+        try (MappingIterator<ProductRequestDTO> productRequestDTOs = objectMapper.readerFor(ProductRequestDTO.class)
+                .readValues(inputStream)) {
+            BulkInsertResponseDTO bulkInsertResponseDTO = productService.insertProductsFromStream(productRequestDTOs);
+
+            log.debug("Finalizando fluxo para inserir em lote [{}] itens a partir de NDJSON",
+                    bulkInsertResponseDTO.getReceivedItems());
+
+            return new ResponseEntity<>(bulkInsertResponseDTO, HttpStatus.OK);
+        }
+    }
+
     @GetMapping(value = "/v1/{serialNumber}")
-    public ResponseEntity<ProductResponseDTO> findProductBySerialNumber(@PathVariable String serialNumber) throws ProductNotFoundException {
-        log.info("Iniciando fluxo para buscar o produto com serialNumber [{}]",
+    public ResponseEntity<ProductResponseDTO> findProductBySerialNumber(@PathVariable String serialNumber,
+                                                                        WebRequest webRequest)
+            throws ProductNotFoundException, ProductLookupTimeoutException {
+        log.debug("Iniciando fluxo para buscar o produto com serialNumber [{}]",
                 serialNumber);
 
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(ProductServiceImplMapper.productVersionDTOToETag(
+                productService.findProductVersionBySerialNumber(serialNumber)))) {
+            log.debug("Produto com serialNumber [{}] nao modificado", serialNumber);
+            return null;
+        }
+
         ProductResponseDTO productResponseDTO = productService.findProductBySerialNumber(serialNumber);
 
-        log.info("Finalizando fluxo para buscar o produto com serialNumber [{}]",
+        log.debug("Finalizando fluxo para buscar o produto com serialNumber [{}]",
                 serialNumber);
 
-        return new ResponseEntity<>(productResponseDTO, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(ProductServiceImplMapper.versionToETag(productResponseDTO.getId(), productResponseDTO.getVersion()))
+                .body(productResponseDTO);
+    }
+
+    @PostMapping(value = "/v1/lookup")
+    public ResponseEntity<ProductLookupResponseDTO> findProductsBySerialNumbers(@RequestBody List<String> serialNumbers)
+            throws BulkLimitExceededException {
+        log.debug("Iniciando fluxo para buscar em lote [{}] serialNumbers", serialNumbers.size());
+
+        ProductLookupResponseDTO productLookupResponseDTO = productService.findProductsBySerialNumbers(serialNumbers);
+
+        log.debug("Finalizando fluxo para buscar em lote. Nao localizados [{}]",
+                productLookupResponseDTO.getMissingSerialNumbers().size());
+
+        return new ResponseEntity<>(productLookupResponseDTO, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/v1/search")
+    public ResponseEntity<List<ProductResponseDTO>> searchProductsByName(@RequestParam(value = "q") String query,
+                                                                         @RequestParam(required = false) Integer limit) {
+        log.debug("Iniciando fluxo para buscar produtos pelo nome [{}]", query);
+
+        List<ProductResponseDTO> productResponseDTOs = productService.searchProductsByName(query, limit);
+
+        log.debug("Finalizando fluxo para buscar produtos pelo nome [{}]. Localizados [{}]", query,
+                productResponseDTOs.size());
+
+        return new ResponseEntity<>(productResponseDTOs, HttpStatus.OK);
     }
 
     @GetMapping(value = "/v1")
-    public ResponseEntity<PageableResponseDTO> findAllProducts(Pageable pageable) {
-        log.info("Iniciando fluxo para recuperar [{}] produtos da pagina [{}]", pageable.getPageSize(),
+    public ResponseEntity<PageableResponseDTO> findAllProducts(Pageable pageable,
+                                                               @RequestParam(defaultValue = "true") boolean withTotal) {
+        log.debug("Iniciando fluxo para recuperar [{}] produtos da pagina [{}]", pageable.getPageSize(),
                 pageable.getPageNumber());
 
-        PageableResponseDTO pageableResponseDTO = productService.findAllProducts(pageable);
+        PageableResponseDTO pageableResponseDTO = productService.findAllProducts(pageable, withTotal);
 
-        log.info("Finalizando fluxo para recuperar produtos. Total de paginas [{}], total de elementos [{}]",
+        log.debug("Finalizando fluxo para recuperar produtos. Total de paginas [{}], total de elementos [{}]",
                 pageableResponseDTO.getTotalPages(), pageableResponseDTO.getTotalRecords());
 
-        return new ResponseEntity<>(pageableResponseDTO, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(ProductServiceImplMapper.pageableResponseDTOToETag(pageableResponseDTO))
+                .body(pageableResponseDTO);
+    }
+
+    @GetMapping(value = "/v1/filter")
+    public ResponseEntity<PageableResponseDTO> findProductsByFilter(ProductFilterDTO productFilterDTO, Pageable pageable,
+                                                                    @RequestParam(defaultValue = "true") boolean withTotal)
+            throws InvalidFilterException {
+        log.debug("Iniciando fluxo para recuperar [{}] produtos filtrados da pagina [{}]", pageable.getPageSize(),
+                pageable.getPageNumber());
+
+        PageableResponseDTO pageableResponseDTO = productService.findProductsByFilter(productFilterDTO, pageable, withTotal);
+
+        log.debug("Finalizando fluxo para recuperar produtos filtrados. Total de paginas [{}], total de elementos [{}]",
+                pageableResponseDTO.getTotalPages(), pageableResponseDTO.getTotalRecords());
+
+        return ResponseEntity.ok()
+                .eTag(ProductServiceImplMapper.pageableResponseDTOToETag(pageableResponseDTO))
+                .body(pageableResponseDTO);
+    }
+
+    @GetMapping(value = "/v1/scroll")
+    public ResponseEntity<CursorPageResponseDTO> findAllProductsAfterCursor(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "20") int size)
+            throws InvalidCursorException {
+        log.debug("Iniciando fluxo para recuperar [{}] produtos a partir do cursor [{}]", size, cursor);
+
+        CursorPageResponseDTO cursorPageResponseDTO = productService.findAllProductsAfterCursor(cursor, size);
+
+        log.debug("Finalizando fluxo para recuperar produtos a partir do cursor. Proximo cursor [{}]",
+                cursorPageResponseDTO.getNextCursor());
+
+        return new ResponseEntity<>(cursorPageResponseDTO, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/v1/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.debug("Iniciando fluxo para exportar o catalogo de produtos no formato [{}]", format);
+
+        StreamingResponseBody responseBody = outputStream -> productExportService.exportProducts(outputStream, format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(responseBody);
     }
 
     @PutMapping(value = "/v1/{serialNumber}")
     public ResponseEntity<ProductResponseDTO> updateProductBySerialNumber(@PathVariable String serialNumber,
-                                                                          @RequestBody ProductRequestDTO productRequestDTO) throws ProductNotFoundException {
-        log.info("Iniciando fluxo para buscar o produto com serialNumber [{}]",
+                                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                          @RequestBody ProductRequestDTO productRequestDTO)
+            throws ProductNotFoundException, ProductVersionMismatchException {
+        log.debug("Iniciando fluxo para buscar o produto com serialNumber [{}]",
                 serialNumber);
 
-        ProductResponseDTO productResponseDTO = productService.updateProductBySerialNumber(serialNumber, productRequestDTO);
+        ProductVersionDTO expectedVersion = ifMatch == null || "*".equals(ifMatch.trim())
+                ? null
+                : ProductServiceImplMapper.eTagToProductVersionDTO(ifMatch);
+
+        ProductResponseDTO productResponseDTO = expectedVersion == null
+                ? productService.updateProductBySerialNumber(serialNumber, productRequestDTO)
+                : productService.updateProductBySerialNumberIfVersionMatches(serialNumber, expectedVersion.getId(),
+                expectedVersion.getVersion(), productRequestDTO);
 
-        log.info("Finalizando fluxo para buscar o produto com serialNumber [{}]",
+        log.debug("Finalizando fluxo para buscar o produto com serialNumber [{}]",
                 serialNumber);
 
-        return new ResponseEntity<>(productResponseDTO, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ProductServiceImplMapper.versionToETag(productResponseDTO.getId(), productResponseDTO.getVersion()))
+                .body(productResponseDTO);
     }
 
     @DeleteMapping(value = "/v1/{serialNumber}")
     public ResponseEntity<ProductResponseDTO> deleteProductBySerialNumber(@PathVariable String serialNumber) throws ProductNotFoundException {
-        log.info("Iniciando fluxo para deletar o produto com serialNumber [{}]",
+        log.debug("Iniciando fluxo para deletar o produto com serialNumber [{}]",
                 serialNumber);
 
         productService.deleteProductBySerialNumber(serialNumber);
 
-        log.info("Finalizando fluxo para deletar o produto com serialNumber [{}]",
+        log.debug("Finalizando fluxo para deletar o produto com serialNumber [{}]",
+                serialNumber);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping(value = "/v1/{serialNumber}/stock")
+    public ResponseEntity<Void> adjustStockBySerialNumber(@PathVariable String serialNumber,
+                                                          @RequestBody StockAdjustmentRequestDTO stockAdjustmentRequestDTO)
+            throws ProductNotFoundException, InsufficientStockException, InvalidStockAdjustmentException {
+        log.debug("Iniciando fluxo para ajustar em [{}] unidades o estoque do produto com serialNumber [{}]",
+                stockAdjustmentRequestDTO.getQuantity(), serialNumber);
+
+        productService.adjustStockBySerialNumber(serialNumber, stockAdjustmentRequestDTO.getQuantity());
+
+        log.debug("Finalizando fluxo para ajustar o estoque do produto com serialNumber [{}]",
                 serialNumber);
 
         return ResponseEntity.noContent().build();
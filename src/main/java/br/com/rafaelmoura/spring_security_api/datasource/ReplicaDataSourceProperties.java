@@ -0,0 +1,30 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.ReplicaBalancing;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "products.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+    private ReplicaBalancing balancing = ReplicaBalancing.ROUND_ROBIN;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration maxLag = Duration.ofSeconds(5);
+    private String lagQuery;
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
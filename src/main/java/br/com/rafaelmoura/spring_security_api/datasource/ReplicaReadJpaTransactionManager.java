@@ -0,0 +1,34 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+public class ReplicaReadJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            currentSession().ifPresent(session -> session.setCacheMode(CacheMode.GET));
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        currentSession()
+                .filter(session -> session.isOpen() && session.getCacheMode() == CacheMode.GET)
+                .ifPresent(session -> session.setCacheMode(CacheMode.NORMAL));
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private Optional<Session> currentSession() {
+        return Optional.ofNullable(TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()))
+                .map(resource -> ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class));
+    }
+}
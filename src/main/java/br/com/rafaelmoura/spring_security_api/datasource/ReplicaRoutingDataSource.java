@@ -0,0 +1,207 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.ReplicaBalancing;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String HEALTHY_GAUGE = "products.datasource.replica.healthy";
+    public static final String LAG_GAUGE = "products.datasource.replica.lag";
+    public static final String FALLBACK_COUNTER = "products.datasource.replica.fallback";
+
+    private final DataSource primaryDataSource;
+    private final ReplicaBalancing balancing;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final int validationTimeoutSeconds;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, ReplicaDataSourceProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.primaryDataSource = primaryDataSource;
+        this.balancing = properties.getBalancing();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.lagQuery = properties.getLagQuery() == null || properties.getLagQuery().isBlank()
+                ? null
+                : properties.getLagQuery();
+        this.validationTimeoutSeconds = (int) Math.max(1, properties.getConnectionTimeout().toSeconds());
+
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            Replica replica = new Replica("replica-" + i, pool("replica-" + i, properties.getNodes().get(i), properties,
+                    meterRegistry));
+            Gauge.builder(HEALTHY_GAUGE, replica, current -> current.healthy ? 1 : 0)
+                    .description("Indica se a replica participa do balanceamento de leituras")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder(LAG_GAUGE, replica, current -> current.lagMillis / 1000.0)
+                    .description("Atraso de replicacao medido na ultima verificacao de saude, em segundos")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+
+        this.fallbacks = Counter.builder(FALLBACK_COUNTER)
+                .description("Leituras somente leitura enviadas ao primario por falta de replica saudavel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        SQLException saturated = null;
+        for (Replica replica : select()) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                if (!isPoolSaturated(ex)) {
+                    eject(replica, ex.getMessage());
+                    continue;
+                }
+                log.debug("Pool da replica [{}] sem conexao livre, tentando a proxima replica", replica.name);
+                saturated = ex;
+            }
+        }
+
+        if (saturated != null) {
+            throw saturated;
+        }
+
+        fallbacks.increment();
+        log.debug("Nenhuma replica saudavel disponivel, leitura enviada ao primario");
+        return primaryDataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Credenciais por conexao nao suportadas no roteamento de replicas");
+    }
+
+    @Scheduled(fixedDelayString = "${products.datasource.replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    eject(replica, "conexao invalida");
+                    continue;
+                }
+                replica.lagMillis = lagMillis(connection);
+                if (replica.lagMillis > maxLagMillis) {
+                    eject(replica, "atraso de replicacao de " + replica.lagMillis + " ms acima do limite de "
+                            + maxLagMillis + " ms");
+                    continue;
+                }
+                restore(replica);
+            } catch (SQLException ex) {
+                if (isPoolSaturated(ex)) {
+                    log.debug("Pool da replica [{}] sem conexao livre, verificacao de saude adiada", replica.name);
+                } else {
+                    eject(replica, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private List<Replica> select() {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(nextReplica.getAndIncrement(), size);
+        List<Replica> candidates = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                candidates.add(replica);
+            }
+        }
+        if (balancing == ReplicaBalancing.LEAST_CONNECTIONS && candidates.size() > 1) {
+            candidates.sort(Comparator.comparingInt(this::activeConnections));
+        }
+        return candidates;
+    }
+
+    private int activeConnections(Replica replica) {
+        HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    private long lagMillis(Connection connection) throws SQLException {
+        if (lagQuery == null) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? (long) (resultSet.getDouble(1) * 1000) : 0;
+        }
+    }
+
+    private static boolean isPoolSaturated(SQLException ex) {
+        return ex instanceof SQLTransientConnectionException && ex.getCause() == null;
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Replica [{}] removida do balanceamento de leituras: {}", replica.name, reason);
+        }
+        replica.healthy = false;
+    }
+
+    private void restore(Replica replica) {
+        if (!replica.healthy) {
+            log.info("Replica [{}] reintegrada ao balanceamento de leituras", replica.name);
+        }
+        replica.healthy = true;
+    }
+
+    private static HikariDataSource pool(String name, ReplicaDataSourceProperties.Node node,
+                                         ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(node.getUrl());
+        config.setUsername(node.getUsername());
+        config.setPassword(node.getPassword());
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.rafaelmoura.spring_security_api.exceptions;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+
+@Getter
+@JsonIgnoreProperties({"stackTrace", "cause", "suppressed", "localizedMessage"})
+public class AdmissionRejectedException extends GenericException {
+    private String code;
+    private long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message, null, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.rafaelmoura.spring_security_api.exceptions;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+
+@Getter
+@JsonIgnoreProperties({"stackTrace", "cause", "suppressed", "localizedMessage"})
+public class BulkLimitExceededException extends GenericException {
+    private String code;
+
+    public BulkLimitExceededException(String message, String code) {
+        super(message);
+        this.code = code;
+    }
+
+    public BulkLimitExceededException(String message) {
+        super(message);
+    }
+}
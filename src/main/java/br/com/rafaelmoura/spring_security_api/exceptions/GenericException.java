@@ -14,5 +14,9 @@ public class GenericException extends Exception{
     public GenericException(String message){
         super(message);
     }
+    protected GenericException(String message, String code, boolean writableStackTrace){
+        super(message, null, false, writableStackTrace);
+        this.code = code;
+    }
 
 }
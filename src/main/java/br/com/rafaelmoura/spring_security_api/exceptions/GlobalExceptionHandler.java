@@ -1,13 +1,20 @@
 package br.com.rafaelmoura.spring_security_api.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Map<String, ResponseEntity<GenericException>> notFoundResponses = new ConcurrentHashMap<>();
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<GenericException> systemExceptionHandler(Exception ex){
         GenericException genericException = new GenericException("Ocorreu um erro interno, tente novamente mais tarde ou contate um administrador"
@@ -18,10 +25,84 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<GenericException> productNotFoundExceptionHandler(ProductNotFoundException ex){
+        return notFoundResponses.computeIfAbsent(ex.getMessage(), message -> new ResponseEntity<>(
+                new ProductNotFoundException(message, HttpStatus.NOT_FOUND.getReasonPhrase()), HttpStatus.NOT_FOUND));
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<GenericException> insufficientStockExceptionHandler(InsufficientStockException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.CONFLICT.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<GenericException> invalidCursorExceptionHandler(InvalidCursorException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidStockAdjustmentException.class)
+    public ResponseEntity<GenericException> invalidStockAdjustmentExceptionHandler(InvalidStockAdjustmentException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<GenericException> invalidFilterExceptionHandler(InvalidFilterException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public ResponseEntity<GenericException> bulkLimitExceededExceptionHandler(BulkLimitExceededException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.PAYLOAD_TOO_LARGE.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ResponseEntity<GenericException> productVersionMismatchExceptionHandler(ProductVersionMismatchException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.PRECONDITION_FAILED.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<GenericException> optimisticLockingFailureExceptionHandler(OptimisticLockingFailureException ex){
+        GenericException genericException = new GenericException("Produto alterado concorrentemente, tente novamente",
+                HttpStatus.CONFLICT.getReasonPhrase());
+
+        return new ResponseEntity<>(genericException, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<GenericException> admissionRejectedExceptionHandler(AdmissionRejectedException ex){
+        GenericException genericException = new GenericException(ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(genericException);
+    }
+
+    @ExceptionHandler(ProductLookupTimeoutException.class)
+    public ResponseEntity<GenericException> productLookupTimeoutExceptionHandler(ProductLookupTimeoutException ex){
         GenericException genericException = new GenericException(ex.getMessage(),
-                HttpStatus.NOT_FOUND.getReasonPhrase());
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
 
-        return new ResponseEntity<>(genericException, HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(genericException);
     }
 
 }
@@ -0,0 +1,16 @@
+package br.com.rafaelmoura.spring_security_api.exceptions;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+
+@Getter
+@JsonIgnoreProperties({"stackTrace", "cause", "suppressed", "localizedMessage"})
+public class ProductLookupTimeoutException extends GenericException {
+    private String code;
+    private long retryAfterSeconds;
+
+    public ProductLookupTimeoutException(String message, long retryAfterSeconds) {
+        super(message, null, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
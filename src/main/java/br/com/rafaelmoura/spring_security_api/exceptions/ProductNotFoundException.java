@@ -9,11 +9,11 @@ public class ProductNotFoundException extends GenericException {
     private String code;
 
     public ProductNotFoundException(String message, String code) {
-        super(message);
+        super(message, code, false);
         this.code = code;
     }
 
     public ProductNotFoundException(String message) {
-        super(message);
+        super(message, null, false);
     }
 }
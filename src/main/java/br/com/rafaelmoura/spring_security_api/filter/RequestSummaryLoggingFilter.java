@@ -0,0 +1,66 @@
+package br.com.rafaelmoura.spring_security_api.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestSummaryLoggingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new SummaryAsyncListener(request, response, start));
+            } else {
+                logSummary(request, response, start);
+            }
+        }
+    }
+
+    private static void logSummary(HttpServletRequest request, HttpServletResponse response, long start) {
+        if (log.isInfoEnabled()) {
+            log.info("Requisicao [{} {}] finalizada com status [{}] em [{}] ms", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private record SummaryAsyncListener(HttpServletRequest request, HttpServletResponse response,
+                                        long start) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logSummary(request, response, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.rafaelmoura.spring_security_api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ProductMetrics {
+
+    public static final String OPERATION_TIMER = "products.operation";
+    public static final String NOT_FOUND_COUNTER = "products.not_found";
+    public static final String SOURCE_DATABASE = "database";
+    public static final String SOURCE_NEGATIVE_CACHE = "negative_cache";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> notFoundCounters = new ConcurrentHashMap<>();
+
+    public ProductMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        notFoundCounter(SOURCE_DATABASE);
+        notFoundCounter(SOURCE_NEGATIVE_CACHE);
+    }
+
+    public void notFound(String source) {
+        notFoundCounter(source).increment();
+    }
+
+    private Counter notFoundCounter(String source) {
+        return notFoundCounters.computeIfAbsent(source, key -> Counter.builder(NOT_FOUND_COUNTER)
+                .description("Buscas por serialNumber sem produto correspondente")
+                .tag("source", key)
+                .register(meterRegistry));
+    }
+}
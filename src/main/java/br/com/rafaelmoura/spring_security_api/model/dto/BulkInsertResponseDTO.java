@@ -0,0 +1,20 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkInsertResponseDTO {
+    private int receivedItems;
+    private int created;
+    private int updated;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,18 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDTO {
+    private String serialNumber;
+    private BulkItemStatus status;
+    private Integer quantity;
+    private String message;
+}
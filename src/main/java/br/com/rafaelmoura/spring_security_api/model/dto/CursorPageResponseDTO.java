@@ -0,0 +1,21 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class CursorPageResponseDTO {
+
+    private List<ProductResponseDTO> content;
+    private int size;
+    private String nextCursor;
+    private boolean lastPage;
+
+}
@@ -1,6 +1,5 @@
 package br.com.rafaelmoura.spring_security_api.model.dto;
 
-import br.com.rafaelmoura.spring_security_api.model.entity.Product;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,9 +13,9 @@ import java.util.List;
 @Data
 public class PageableResponseDTO {
 
-    private List<Product> content;
+    private List<ProductResponseDTO> content;
     private int pageNumber;
-    private int totalPages;
+    private Integer totalPages;
     private Long totalRecords;
     private boolean firstPage;
     private boolean lastPage;
@@ -0,0 +1,20 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDTO {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private boolean inStock;
+}
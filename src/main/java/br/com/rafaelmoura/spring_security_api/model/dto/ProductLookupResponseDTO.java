@@ -0,0 +1,18 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductLookupResponseDTO {
+    private Map<String, ProductResponseDTO> products;
+    private List<String> missingSerialNumbers;
+}
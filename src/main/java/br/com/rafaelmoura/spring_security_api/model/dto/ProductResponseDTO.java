@@ -1,5 +1,6 @@
 package br.com.rafaelmoura.spring_security_api.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -13,4 +14,8 @@ public class ProductResponseDTO {
     private String serialNumber;
     private BigDecimal price;
     private int quantity;
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Long id;
 }
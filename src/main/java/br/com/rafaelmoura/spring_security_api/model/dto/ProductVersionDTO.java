@@ -0,0 +1,15 @@
+package br.com.rafaelmoura.spring_security_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductVersionDTO {
+    private Long id;
+    private Long version;
+}
@@ -2,6 +2,11 @@ package br.com.rafaelmoura.spring_security_api.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 
@@ -10,16 +15,30 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tb_produtos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
+@NaturalIdCache(region = Product.NATURAL_ID_CACHE_REGION)
+@Table(name = "tb_produtos", indexes = {
+        @Index(name = "ux_tb_produtos_serial_number", columnList = "serialNumber", unique = true),
+        @Index(name = "ix_tb_produtos_price_quantity_id", columnList = "price, quantity, id"),
+        @Index(name = "ix_tb_produtos_price_desc_quantity_id", columnList = "price desc, quantity, id"),
+        @Index(name = "ix_tb_produtos_quantity_price_id", columnList = "quantity, price, id")
+})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(onlyExplicitlyIncluded = true)
 public class Product {
 
+    public static final String CACHE_REGION = "product";
+    public static final String NATURAL_ID_CACHE_REGION = "product-natural-id";
+    public static final String ENTRY_EVICTION_QUERY_SPACE = "tb_produtos_entry_eviction";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_produtos_seq")
+    @SequenceGenerator(name = "tb_produtos_seq", sequenceName = "tb_produtos_seq", allocationSize = 50)
     private Long id;
     @ToString.Include
     private String product;
+    @NaturalId(mutable = true)
     @EqualsAndHashCode.Include
     @ToString.Include
     private String serialNumber;
@@ -27,4 +46,8 @@ public class Product {
     private BigDecimal price;
     @ToString.Include
     private int quantity;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,6 @@
+package br.com.rafaelmoura.spring_security_api.model.enums;
+
+public enum AdmissionBudget {
+    READ,
+    WRITE
+}
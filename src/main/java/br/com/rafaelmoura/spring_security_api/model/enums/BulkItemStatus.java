@@ -0,0 +1,7 @@
+package br.com.rafaelmoura.spring_security_api.model.enums;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package br.com.rafaelmoura.spring_security_api.model.enums;
+
+public enum ConcurrencyLimitAlgorithm {
+    GRADIENT2,
+    VEGAS,
+    FIXED
+}
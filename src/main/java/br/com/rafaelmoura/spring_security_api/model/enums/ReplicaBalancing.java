@@ -0,0 +1,6 @@
+package br.com.rafaelmoura.spring_security_api.model.enums;
+
+public enum ReplicaBalancing {
+    ROUND_ROBIN,
+    LEAST_CONNECTIONS
+}
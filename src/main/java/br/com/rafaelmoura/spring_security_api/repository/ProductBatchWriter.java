@@ -0,0 +1,54 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkItemResultDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductBatchWriter {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public List<BulkItemResultDTO> writeChunk(List<ProductRequestDTO> chunk) {
+        Map<String, Product> existingProducts = productRepository.findBySerialNumberIn(
+                        chunk.stream().map(ProductRequestDTO::getSerialNumber).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getSerialNumber, Function.identity()));
+
+        List<Product> newProducts = new ArrayList<>();
+        List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+
+        for (ProductRequestDTO productRequestDTO : chunk) {
+            Product product = existingProducts.get(productRequestDTO.getSerialNumber());
+            if (product != null) {
+                product.setQuantity(product.getQuantity() + productRequestDTO.getQuantity());
+                results.add(ProductServiceImplMapper.bulkItemResult(product, BulkItemStatus.UPDATED));
+            } else {
+                product = ProductServiceImplMapper.productRequestDTOToProductEntity(productRequestDTO);
+                newProducts.add(product);
+                results.add(ProductServiceImplMapper.bulkItemResult(product, BulkItemStatus.CREATED));
+            }
+        }
+
+        productRepository.saveAll(newProducts);
+        entityManager.flush();
+        entityManager.clear();
+
+        return results;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+
+import java.util.Optional;
+
+public interface ProductNaturalIdRepository {
+    Optional<Product> findBySerialNumber(String serialNumber);
+
+    void evictSecondLevelCache(String serialNumber);
+
+    void evictSecondLevelCache(Long id, String previousSerialNumber);
+}
@@ -0,0 +1,72 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ProductNaturalIdRepositoryImpl implements ProductNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Product> findBySerialNumber(String serialNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Product.class)
+                .loadOptional(serialNumber);
+    }
+
+    @Override
+    @Transactional
+    public void evictSecondLevelCache(String serialNumber) {
+        Session session = entityManager.unwrap(Session.class);
+        Product product = session.bySimpleNaturalId(Product.class).getReference(serialNumber);
+        if (product != null) {
+            evict(session.getIdentifier(product), null);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void evictSecondLevelCache(Long id, String previousSerialNumber) {
+        evict(id, previousSerialNumber);
+    }
+
+    private void evict(Object id, String serialNumber) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Product.class);
+        NaturalIdDataAccess naturalIdDataAccess = persister.getNaturalIdCacheAccessStrategy();
+        Object naturalIdCacheKey = serialNumber != null && naturalIdDataAccess != null
+                ? naturalIdDataAccess.generateCacheKey(serialNumber, persister, session)
+                : null;
+
+        Runnable eviction = () -> {
+            cache.evict(Product.class, id);
+            if (naturalIdCacheKey != null) {
+                naturalIdDataAccess.evict(naturalIdCacheKey);
+            }
+        };
+
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -1,12 +1,142 @@
 package br.com.rafaelmoura.spring_security_api.repository;
 
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
 import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    Optional<Product> findBySerialNumber(String serialNumber);
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductNaturalIdRepository {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Product> findBySerialNumberIn(Collection<String> serialNumbers);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO(
+                p.product, p.serialNumber, p.price, p.quantity, p.version, p.id)
+            FROM Product p
+            """)
+    Slice<ProductResponseDTO> findAllProjectedBy(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO(
+                p.product, p.serialNumber, p.price, p.quantity, p.version, p.id)
+            FROM Product p
+            ORDER BY p.id
+            """)
+    Stream<ProductResponseDTO> streamAllProjectedBy();
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO(
+                p.product, p.serialNumber, p.price, p.quantity, p.version, p.id)
+            FROM Product p
+            WHERE p.serialNumber IN :serialNumbers
+            """)
+    List<ProductResponseDTO> findAllProjectedBySerialNumberIn(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO(
+                p.product, p.serialNumber, p.price, p.quantity, p.version, p.id)
+            FROM Product p
+            WHERE p.serialNumber = :serialNumber
+            """)
+    Optional<ProductResponseDTO> findProjectedBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO(
+                p.product, p.serialNumber, p.price, p.quantity, p.version, p.id)
+            FROM Product p
+            WHERE p.id > :id
+            ORDER BY p.id
+            """)
+    List<ProductResponseDTO> findAllProjectedByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Transactional
+    @Query("""
+            SELECT new br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO(p.id, p.version)
+            FROM Product p
+            WHERE p.serialNumber = :serialNumber
+            """)
+    Optional<ProductVersionDTO> findVersionBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = Product.ENTRY_EVICTION_QUERY_SPACE))
+    @Query(value = """
+            MERGE INTO tb_produtos p
+            USING (SELECT CAST(:serialNumber AS VARCHAR(255)) AS serial_number) s
+            ON p.serial_number = s.serial_number
+            WHEN MATCHED THEN
+                UPDATE SET quantity = p.quantity + :quantity, version = p.version + 1
+            WHEN NOT MATCHED THEN
+                INSERT (product, serial_number, price, quantity, version)
+                VALUES (:product, s.serial_number, :price, :quantity, 0)
+            """, nativeQuery = true)
+    int upsertStock(@Param("serialNumber") String serialNumber,
+                    @Param("product") String product,
+                    @Param("price") BigDecimal price,
+                    @Param("quantity") int quantity);
+
+    @Transactional
+    boolean existsBySerialNumber(String serialNumber);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = Product.ENTRY_EVICTION_QUERY_SPACE))
+    @Query(value = """
+            UPDATE tb_produtos
+            SET product = :product, serial_number = :newSerialNumber, price = :price, version = version + 1
+            WHERE serial_number = :serialNumber AND id = :id AND version = :version
+            """, nativeQuery = true)
+    int updateIfVersionMatches(@Param("serialNumber") String serialNumber,
+                               @Param("id") Long id,
+                               @Param("version") Long version,
+                               @Param("product") String product,
+                               @Param("newSerialNumber") String newSerialNumber,
+                               @Param("price") BigDecimal price);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = Product.ENTRY_EVICTION_QUERY_SPACE))
+    @Query(value = """
+            UPDATE tb_produtos SET quantity = quantity + :delta, version = version + 1
+            WHERE serial_number = :serialNumber AND quantity <= 2147483647 - :delta
+            """, nativeQuery = true)
+    int incrementQuantity(@Param("serialNumber") String serialNumber, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = Product.ENTRY_EVICTION_QUERY_SPACE))
+    @Query(value = """
+            UPDATE tb_produtos SET quantity = quantity - :delta, version = version + 1
+            WHERE serial_number = :serialNumber AND quantity >= :delta
+            """, nativeQuery = true)
+    int decrementQuantityIfAvailable(@Param("serialNumber") String serialNumber, @Param("delta") int delta);
 }
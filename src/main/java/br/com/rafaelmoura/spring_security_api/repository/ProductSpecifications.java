@@ -0,0 +1,57 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+
+@UtilityClass
+public class ProductSpecifications {
+
+    public static final String PRICE = "price";
+    public static final String QUANTITY = "quantity";
+    public static final String ID = "id";
+
+    public Specification<Product> byFilter(ProductFilterDTO productFilterDTO) {
+        return Specification.where(priceGreaterThanOrEqualTo(productFilterDTO.getMinPrice()))
+                .and(priceLessThanOrEqualTo(productFilterDTO.getMaxPrice()))
+                .and(quantityGreaterThanOrEqualTo(productFilterDTO.getMinQuantity()))
+                .and(quantityLessThanOrEqualTo(productFilterDTO.getMaxQuantity()))
+                .and(inStock(productFilterDTO.isInStock()));
+    }
+
+    public Specification<Product> priceGreaterThanOrEqualTo(BigDecimal minPrice) {
+        return (root, query, builder) -> minPrice == null ? null
+                : builder.greaterThanOrEqualTo(root.get(PRICE), minPrice);
+    }
+
+    public Specification<Product> priceLessThanOrEqualTo(BigDecimal maxPrice) {
+        return (root, query, builder) -> maxPrice == null ? null
+                : builder.lessThanOrEqualTo(root.get(PRICE), maxPrice);
+    }
+
+    public Specification<Product> quantityGreaterThanOrEqualTo(Integer minQuantity) {
+        return (root, query, builder) -> minQuantity == null ? null
+                : builder.greaterThanOrEqualTo(root.get(QUANTITY), minQuantity);
+    }
+
+    public Specification<Product> quantityLessThanOrEqualTo(Integer maxQuantity) {
+        return (root, query, builder) -> maxQuantity == null ? null
+                : builder.lessThanOrEqualTo(root.get(QUANTITY), maxQuantity);
+    }
+
+    public Specification<Product> inStock(boolean inStock) {
+        return (root, query, builder) -> inStock ? builder.greaterThan(root.get(QUANTITY), 0) : null;
+    }
+
+    public Specification<Product> orderBy(Sort sort) {
+        return (root, query, builder) -> {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+            return null;
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.cache.ProductCache;
+import br.com.rafaelmoura.spring_security_api.config.StockWriteBehindProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Repository
+public class StockWriteBehindBuffer {
+
+    public static final String PENDING_EVENTS_GAUGE = "products.stock.write_behind.pending";
+    public static final String FLUSHED_EVENTS_COUNTER = "products.stock.write_behind.flushed";
+    public static final String INCREMENT_QUANTITY_SQL =
+            "UPDATE tb_produtos SET quantity = quantity + ?, version = version + ? WHERE serial_number = ?";
+
+    private final StockWriteBehindProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCache productCache;
+    private final ProductRepository productRepository;
+    private final ConcurrentMap<String, PendingDelta> pendingDeltas = new ConcurrentHashMap<>();
+    private final LongAdder pendingEvents = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter flushedEvents;
+
+    public StockWriteBehindBuffer(StockWriteBehindProperties properties, JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate, ProductCache productCache,
+                                  ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+                transactionTemplate);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.productCache = productCache;
+        this.productRepository = productRepository;
+
+        Gauge.builder(PENDING_EVENTS_GAUGE, pendingEvents, LongAdder::sum)
+                .description("Ajustes de estoque aguardando gravacao no banco")
+                .register(meterRegistry);
+        this.flushedEvents = Counter.builder(FLUSHED_EVENTS_COUNTER)
+                .description("Ajustes de estoque gravados no banco pelo buffer")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void add(String serialNumber, int quantity) {
+        enqueue(serialNumber, quantity, 1);
+        pendingEvents.increment();
+
+        if (pendingEvents.sum() >= properties.getMaxPendingEvents() && flushLock.tryLock()) {
+            try {
+                flushPending(pendingDeltas.keySet());
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${products.stock.write-behind.flush-interval:PT1S}")
+    public void flush() {
+        if (pendingDeltas.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushPending(pendingDeltas.keySet());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush(String serialNumber) {
+        if (!pendingDeltas.containsKey(serialNumber)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending(List.of(serialNumber));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flushLock.lock();
+        try {
+            flushPending(pendingDeltas.keySet());
+            log.info("Buffer de estoque drenado no encerramento da aplicacao");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending(Collection<String> serialNumbers) {
+        List<DrainedDelta> drainedDeltas = new ArrayList<>(serialNumbers.size());
+        for (String serialNumber : serialNumbers) {
+            PendingDelta pendingDelta = pendingDeltas.remove(serialNumber);
+            if (pendingDelta != null) {
+                long quantity = pendingDelta.retire();
+                drainedDeltas.add(new DrainedDelta(serialNumber, quantity, pendingDelta.events.sum()));
+            }
+        }
+
+        if (drainedDeltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = drainedDeltas.stream()
+                .map(drainedDelta -> new Object[]{drainedDelta.quantity(), drainedDelta.events(),
+                        drainedDelta.serialNumber()})
+                .toList();
+        long events = drainedDeltas.stream().mapToLong(DrainedDelta::events).sum();
+
+        int[] updatedRows;
+        try {
+            updatedRows = transactionTemplate.execute(status -> {
+                int[] rows = jdbcTemplate.batchUpdate(INCREMENT_QUANTITY_SQL, batchArgs);
+                drainedDeltas.forEach(drainedDelta -> productRepository.evictSecondLevelCache(drainedDelta.serialNumber()));
+                return rows;
+            });
+        } catch (DataAccessException ex) {
+            log.error("Falha ao gravar [{}] ajustes do buffer de estoque, mantendo os ajustes para a proxima tentativa",
+                    events, ex);
+            drainedDeltas.forEach(drainedDelta -> enqueue(drainedDelta.serialNumber(), drainedDelta.quantity(),
+                    drainedDelta.events()));
+            return;
+        }
+
+        for (int i = 0; i < drainedDeltas.size(); i++) {
+            DrainedDelta drainedDelta = drainedDeltas.get(i);
+            productCache.evict(drainedDelta.serialNumber());
+            if (updatedRows != null && updatedRows[i] == 0) {
+                log.warn("Produto com serialNumber [{}] nao localizado ao gravar [{}] unidades do buffer de estoque",
+                        drainedDelta.serialNumber(), drainedDelta.quantity());
+            }
+        }
+
+        pendingEvents.add(-events);
+        flushedEvents.increment(events);
+        log.debug("Buffer de estoque gravou [{}] ajustes em [{}] produtos", events, drainedDeltas.size());
+    }
+
+    private void enqueue(String serialNumber, long quantity, long events) {
+        while (!pendingDeltas.computeIfAbsent(serialNumber, key -> new PendingDelta()).add(quantity, events)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private record DrainedDelta(String serialNumber, long quantity, long events) {
+    }
+
+    private static final class PendingDelta {
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder writers = new LongAdder();
+        private volatile boolean retired;
+
+        private boolean add(long delta, long eventCount) {
+            writers.increment();
+            try {
+                if (retired) {
+                    return false;
+                }
+                quantity.add(delta);
+                events.add(eventCount);
+                return true;
+            } finally {
+                writers.decrement();
+            }
+        }
+
+        private long retire() {
+            retired = true;
+            while (writers.sum() != 0) {
+                Thread.onSpinWait();
+            }
+            return quantity.sum();
+        }
+    }
+}
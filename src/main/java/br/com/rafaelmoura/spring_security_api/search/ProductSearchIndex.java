@@ -0,0 +1,379 @@
+package br.com.rafaelmoura.spring_security_api.search;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    public static final String INDEXED_PRODUCTS_GAUGE = "products.search.indexed";
+    public static final int DENSE_POSTINGS_THRESHOLD = 4_096;
+    public static final int MAX_FILTER_POSTINGS = 4;
+    public static final int MAX_CANDIDATE_ESTIMATE = 100_000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final String TOKEN_SEPARATOR = " ";
+    private static final Comparator<Document> DOCUMENT_ORDER = Comparator.comparing(Document::serialNumber);
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int WORDS_PER_PAGE = PAGE_SIZE >>> 6;
+    private static final int MAX_PAGES = 1 << 15;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Postings> postingsByToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Document> documents = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<AtomicReferenceArray<Document>> documentPages = new AtomicReferenceArray<>(MAX_PAGES);
+    private final AtomicInteger nextDocumentId = new AtomicInteger();
+    private final Queue<Integer> releasedDocumentIds = new ConcurrentLinkedQueue<>();
+
+    public ProductSearchIndex(ProductRepository productRepository, TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        Gauge.builder(INDEXED_PRODUCTS_GAUGE, documents, Map::size)
+                .description("Produtos presentes no indice de busca por nome")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductResponseDTO> products = productRepository.streamAllProjectedBy()) {
+                products.forEach(product -> put(product.getSerialNumber(), product.getProduct()));
+            }
+        });
+        log.info("Indice de busca reconstruido com [{}] produtos em [{}] ms", documents.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public void put(String serialNumber, String product) {
+        String text = normalize(product);
+        documents.compute(serialNumber, (key, previousDocument) -> {
+            if (previousDocument != null) {
+                unindex(previousDocument);
+            }
+            if (text.isEmpty()) {
+                return null;
+            }
+            Document document = new Document(acquireDocumentId(), serialNumber, text);
+            documentPage(document.id(), true).set(document.id() & (PAGE_SIZE - 1), document);
+            for (String token : text.split(TOKEN_SEPARATOR)) {
+                postingsByToken.computeIfAbsent(token, this::createPostings).add(document);
+            }
+            return document;
+        });
+    }
+
+    public void remove(String serialNumber) {
+        documents.computeIfPresent(serialNumber, (key, previousDocument) -> {
+            unindex(previousDocument);
+            return null;
+        });
+    }
+
+    public List<String> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        String[] queryTokens = normalizedQuery.split(TOKEN_SEPARATOR);
+        Arrays.sort(queryTokens, Comparator.comparingInt(String::length).reversed());
+        String[] innerQueryTokens = new String[queryTokens.length];
+        DocumentBitSet[][] filters = new DocumentBitSet[queryTokens.length][];
+        if (queryTokens.length == 1) {
+            innerQueryTokens[0] = TOKEN_SEPARATOR + queryTokens[0];
+            return collect(postingsByPrefix(queryTokens[0]), queryTokens, innerQueryTokens, filters, 0, limit);
+        }
+
+        Collection<Postings> leadingPostings = List.of();
+        long leadingCandidates = MAX_CANDIDATE_ESTIMATE;
+        int leadingToken = 0;
+        boolean filterable = true;
+        for (int i = 0; i < queryTokens.length; i++) {
+            innerQueryTokens[i] = TOKEN_SEPARATOR + queryTokens[i];
+            Collection<Postings> tokenPostings = postingsByPrefix(queryTokens[i]);
+            filters[i] = filter(tokenPostings);
+            filterable &= filters[i] != null;
+            long candidates = countCandidates(tokenPostings, leadingCandidates);
+            if (candidates < leadingCandidates || i == 0) {
+                leadingPostings = tokenPostings;
+                leadingCandidates = candidates;
+                leadingToken = i;
+            }
+        }
+
+        if (leadingCandidates == 0) {
+            return List.of();
+        }
+        if (filterable && leadingCandidates >= DENSE_POSTINGS_THRESHOLD) {
+            return searchByBitSets(queryTokens, innerQueryTokens, filters, limit);
+        }
+        return collect(leadingPostings, queryTokens, innerQueryTokens, filters, leadingToken, limit);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private List<String> collect(Collection<Postings> leadingPostings, String[] queryTokens, String[] innerQueryTokens,
+                                 DocumentBitSet[][] filters, int leadingToken, int limit) {
+        Set<String> serialNumbers = new LinkedHashSet<>();
+        for (Postings candidates : leadingPostings) {
+            for (Document document : candidates.documents) {
+                if (passes(filters, leadingToken, document.id()) && document.matches(queryTokens, innerQueryTokens)
+                        && serialNumbers.add(document.serialNumber()) && serialNumbers.size() >= limit) {
+                    return new ArrayList<>(serialNumbers);
+                }
+            }
+        }
+        return new ArrayList<>(serialNumbers);
+    }
+
+    private List<String> searchByBitSets(String[] queryTokens, String[] innerQueryTokens, DocumentBitSet[][] filters,
+                                         int limit) {
+        List<String> serialNumbers = new ArrayList<>(limit);
+        int words = (nextDocumentId.get() + 63) >>> 6;
+        for (int word = 0; word < words; word++) {
+            long bits = -1L;
+            for (DocumentBitSet[] filter : filters) {
+                long tokenBits = 0L;
+                for (DocumentBitSet bitSet : filter) {
+                    tokenBits |= bitSet.word(word);
+                }
+                bits &= tokenBits;
+                if (bits == 0L) {
+                    break;
+                }
+            }
+            while (bits != 0L) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                Document document = document(id);
+                if (document != null && document.matches(queryTokens, innerQueryTokens)) {
+                    serialNumbers.add(document.serialNumber());
+                    if (serialNumbers.size() >= limit) {
+                        return serialNumbers;
+                    }
+                }
+            }
+        }
+        return serialNumbers;
+    }
+
+    private void unindex(Document document) {
+        for (String token : document.text().split(TOKEN_SEPARATOR)) {
+            Postings tokenPostings = postingsByToken.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.remove(document);
+            }
+        }
+        documentPage(document.id(), false).compareAndSet(document.id() & (PAGE_SIZE - 1), document, null);
+        releasedDocumentIds.offer(document.id());
+    }
+
+    private int acquireDocumentId() {
+        Integer releasedDocumentId = releasedDocumentIds.poll();
+        return releasedDocumentId != null ? releasedDocumentId : nextDocumentId.getAndIncrement();
+    }
+
+    private Document document(int id) {
+        AtomicReferenceArray<Document> page = documentPage(id, false);
+        return page == null ? null : page.get(id & (PAGE_SIZE - 1));
+    }
+
+    private AtomicReferenceArray<Document> documentPage(int id, boolean create) {
+        int pageIndex = id >>> PAGE_SHIFT;
+        AtomicReferenceArray<Document> page = documentPages.get(pageIndex);
+        if (page == null && create) {
+            documentPages.compareAndSet(pageIndex, null, new AtomicReferenceArray<>(PAGE_SIZE));
+            page = documentPages.get(pageIndex);
+        }
+        return page;
+    }
+
+    private Postings createPostings(String token) {
+        Postings tokenPostings = new Postings();
+        postings.put(token, tokenPostings);
+        return tokenPostings;
+    }
+
+    private Collection<Postings> postingsByPrefix(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private static DocumentBitSet[] filter(Collection<Postings> tokenPostings) {
+        List<DocumentBitSet> bitSets = new ArrayList<>(MAX_FILTER_POSTINGS);
+        for (Postings candidatePostings : tokenPostings) {
+            DocumentBitSet bitSet = candidatePostings.bitSet;
+            if (bitSet == null) {
+                if (candidatePostings.size.get() > 0) {
+                    return null;
+                }
+                continue;
+            }
+            if (bitSets.size() == MAX_FILTER_POSTINGS) {
+                return null;
+            }
+            bitSets.add(bitSet);
+        }
+        return bitSets.toArray(DocumentBitSet[]::new);
+    }
+
+    private static boolean passes(DocumentBitSet[][] filters, int leadingToken, int id) {
+        for (int i = 0; i < filters.length; i++) {
+            if (i == leadingToken || filters[i] == null) {
+                continue;
+            }
+            boolean found = false;
+            for (DocumentBitSet bitSet : filters[i]) {
+                if (bitSet.contains(id)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long countCandidates(Collection<Postings> tokenPostings, long limit) {
+        long candidates = 0;
+        for (Postings candidatePostings : tokenPostings) {
+            candidates += candidatePostings.size.get();
+            if (candidates >= limit) {
+                return limit;
+            }
+        }
+        return candidates;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutDiacritics = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutDiacritics.toLowerCase(Locale.ROOT)).replaceAll(TOKEN_SEPARATOR).trim();
+    }
+
+    private record Document(int id, String serialNumber, String text) {
+
+        private boolean matches(String[] queryTokens, String[] innerQueryTokens) {
+            for (int i = 0; i < queryTokens.length; i++) {
+                if (!text.startsWith(queryTokens[i]) && !text.contains(innerQueryTokens[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Postings {
+        private final ConcurrentSkipListSet<Document> documents = new ConcurrentSkipListSet<>(DOCUMENT_ORDER);
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile DocumentBitSet bitSet;
+
+        private void add(Document document) {
+            if (!documents.add(document)) {
+                return;
+            }
+            int currentSize = size.incrementAndGet();
+            DocumentBitSet currentBitSet = bitSet;
+            if (currentBitSet != null) {
+                currentBitSet.set(document.id());
+            } else if (currentSize >= DENSE_POSTINGS_THRESHOLD) {
+                densify();
+            }
+        }
+
+        private void remove(Document document) {
+            if (!documents.remove(document)) {
+                return;
+            }
+            size.decrementAndGet();
+            DocumentBitSet currentBitSet = bitSet;
+            if (currentBitSet != null) {
+                currentBitSet.clear(document.id());
+            }
+        }
+
+        private synchronized void densify() {
+            if (bitSet != null) {
+                return;
+            }
+            DocumentBitSet denseBitSet = new DocumentBitSet();
+            bitSet = denseBitSet;
+            for (Document document : documents) {
+                denseBitSet.set(document.id());
+            }
+        }
+    }
+
+    private static final class DocumentBitSet {
+        private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(MAX_PAGES);
+
+        private void set(int id) {
+            int pageIndex = id >>> PAGE_SHIFT;
+            AtomicLongArray page = pages.get(pageIndex);
+            if (page == null) {
+                pages.compareAndSet(pageIndex, null, new AtomicLongArray(WORDS_PER_PAGE));
+                page = pages.get(pageIndex);
+            }
+            page.getAndAccumulate((id & (PAGE_SIZE - 1)) >>> 6, 1L << id, (word, mask) -> word | mask);
+        }
+
+        private void clear(int id) {
+            AtomicLongArray page = pages.get(id >>> PAGE_SHIFT);
+            if (page != null) {
+                page.getAndAccumulate((id & (PAGE_SIZE - 1)) >>> 6, ~(1L << id), (word, mask) -> word & mask);
+            }
+        }
+
+        private boolean contains(int id) {
+            AtomicLongArray page = pages.get(id >>> PAGE_SHIFT);
+            return page != null && (page.get((id & (PAGE_SIZE - 1)) >>> 6) & (1L << id)) != 0L;
+        }
+
+        private long word(int word) {
+            AtomicLongArray page = pages.get(word / WORDS_PER_PAGE);
+            return page == null ? 0L : page.get(word % WORDS_PER_PAGE);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.rafaelmoura.spring_security_api.service;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+    long exportProducts(OutputStream outputStream, ExportFormat exportFormat) throws IOException;
+}
@@ -1,20 +1,59 @@
 package br.com.rafaelmoura.spring_security_api.service;
 
+import br.com.rafaelmoura.spring_security_api.exceptions.BulkLimitExceededException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InsufficientStockException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidCursorException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidFilterException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidStockAdjustmentException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
 import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Iterator;
+import java.util.List;
+
 public interface ProductService {
     ProductResponseDTO insertProduct(ProductRequestDTO productRequestDTO);
 
-    ProductResponseDTO findProductBySerialNumber(String serialNumber) throws ProductNotFoundException;
+    BulkInsertResponseDTO insertProducts(List<ProductRequestDTO> productRequestDTOs) throws BulkLimitExceededException;
+
+    BulkInsertResponseDTO insertProductsFromStream(Iterator<ProductRequestDTO> productRequestDTOs)
+            throws BulkLimitExceededException;
+
+    ProductResponseDTO findProductBySerialNumber(String serialNumber)
+            throws ProductNotFoundException, ProductLookupTimeoutException;
+
+    ProductVersionDTO findProductVersionBySerialNumber(String serialNumber) throws ProductNotFoundException;
+
+    ProductLookupResponseDTO findProductsBySerialNumbers(List<String> serialNumbers) throws BulkLimitExceededException;
 
-    PageableResponseDTO findAllProducts(Pageable pageable);
+    List<ProductResponseDTO> searchProductsByName(String query, Integer limit);
+
+    PageableResponseDTO findAllProducts(Pageable pageable, boolean withTotal);
+
+    PageableResponseDTO findProductsByFilter(ProductFilterDTO productFilterDTO, Pageable pageable, boolean withTotal)
+            throws InvalidFilterException;
+
+    CursorPageResponseDTO findAllProductsAfterCursor(String cursor, int size) throws InvalidCursorException;
 
     ProductResponseDTO updateProductBySerialNumber(String serialNumber, ProductRequestDTO productRequestDTO) throws ProductNotFoundException;
 
+    ProductResponseDTO updateProductBySerialNumberIfVersionMatches(String serialNumber, Long id, Long version,
+                                                                   ProductRequestDTO productRequestDTO)
+            throws ProductNotFoundException, ProductVersionMismatchException;
+
     void deleteProductBySerialNumber(String serialNumber) throws ProductNotFoundException;
 
+    void adjustStockBySerialNumber(String serialNumber, int quantity) throws ProductNotFoundException, InsufficientStockException,
+            InvalidStockAdjustmentException;
+
 }
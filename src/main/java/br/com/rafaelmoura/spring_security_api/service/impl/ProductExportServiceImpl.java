@@ -0,0 +1,99 @@
+package br.com.rafaelmoura.spring_security_api.service.impl;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductExportServiceImpl implements ProductExportService {
+
+    public static final String CSV_HEADER = "product,serialNumber,price,quantity";
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream outputStream, ExportFormat exportFormat) throws IOException {
+        log.debug("Iniciando exportacao do catalogo de produtos no formato [{}]", exportFormat);
+
+        long exportedProducts;
+        try (Stream<ProductResponseDTO> products = productRepository.streamAllProjectedBy()) {
+            exportedProducts = exportFormat == ExportFormat.CSV
+                    ? writeCsv(products.iterator(), outputStream)
+                    : writeNdjson(products.iterator(), outputStream);
+        }
+
+        log.debug("Finalizando exportacao de [{}] produtos no formato [{}]", exportedProducts, exportFormat);
+        return exportedProducts;
+    }
+
+    private long writeNdjson(Iterator<ProductResponseDTO> products, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            while (products.hasNext()) {
+                ProductResponseDTO product = products.next();
+                generator.writeStartObject();
+                generator.writeStringField("product", product.getProduct());
+                generator.writeStringField("serialNumber", product.getSerialNumber());
+                generator.writeFieldName("price");
+                if (product.getPrice() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(product.getPrice());
+                }
+                generator.writeNumberField("quantity", product.getQuantity());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<ProductResponseDTO> products, OutputStream outputStream) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (products.hasNext()) {
+            ProductResponseDTO product = products.next();
+            writer.write(csvValue(product.getProduct()));
+            writer.write(',');
+            writer.write(csvValue(product.getSerialNumber()));
+            writer.write(',');
+            writer.write(product.getPrice() == null ? "" : product.getPrice().toPlainString());
+            writer.write(',');
+            writer.write(Integer.toString(product.getQuantity()));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
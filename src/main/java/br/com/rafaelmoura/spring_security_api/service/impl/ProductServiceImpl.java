@@ -1,86 +1,387 @@
 package br.com.rafaelmoura.spring_security_api.service.impl;
 
+import br.com.rafaelmoura.spring_security_api.cache.ProductCache;
+import br.com.rafaelmoura.spring_security_api.cache.ProductCountCache;
+import br.com.rafaelmoura.spring_security_api.cache.ProductLookupCoalescer;
+import br.com.rafaelmoura.spring_security_api.config.ProductBulkProperties;
+import br.com.rafaelmoura.spring_security_api.config.ProductLookupProperties;
+import br.com.rafaelmoura.spring_security_api.config.ProductSearchProperties;
+import br.com.rafaelmoura.spring_security_api.datasource.ReplicaDataSourceProperties;
+import br.com.rafaelmoura.spring_security_api.exceptions.BulkLimitExceededException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InsufficientStockException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidCursorException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidFilterException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidStockAdjustmentException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
 import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.metrics.ProductMetrics;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkItemResultDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
 import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
+import br.com.rafaelmoura.spring_security_api.repository.ProductBatchWriter;
 import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.repository.ProductSpecifications;
+import br.com.rafaelmoura.spring_security_api.repository.StockWriteBehindBuffer;
+import br.com.rafaelmoura.spring_security_api.search.ProductSearchIndex;
 import br.com.rafaelmoura.spring_security_api.service.ProductService;
 import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
-    public static final String PRODUCT_NOT_FOUND_LOG_ERROR = "Produto nao localizado com o serialNumber [{}]";
+    public static final String PRODUCT_NOT_FOUND_LOG_MESSAGE = "Produto nao localizado com o serialNumber [{}]";
     public static final String PRODUCT_NOT_FOUND_ERROR_MESSAGE = "Produto nao localizado com o serialNumber informado";
+    public static final String PRODUCT_UPSERT_ERROR_MESSAGE = "Produto nao localizado apos a atualizacao de estoque";
+    public static final String PRODUCT_VERSION_MISMATCH_ERROR_MESSAGE = "Versao informada nao corresponde a versao atual do produto";
+    public static final String INSUFFICIENT_STOCK_ERROR_MESSAGE = "Estoque insuficiente para o produto com o serialNumber informado";
+    public static final String INVALID_STOCK_ADJUSTMENT_ERROR_MESSAGE = "Ajuste de estoque fora do limite permitido para o produto";
+    public static final String INVALID_CURSOR_ERROR_MESSAGE = "Cursor de paginacao invalido";
+    public static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    public static final String BULK_LIMIT_ERROR_MESSAGE = "Quantidade de itens acima do limite permitido para insercao em lote";
+    public static final String BULK_MISSING_SERIAL_ERROR_MESSAGE = "serialNumber nao informado";
+    public static final String LOOKUP_LIMIT_ERROR_MESSAGE = "Quantidade de serialNumbers acima do limite permitido para busca em lote";
+    public static final String BULK_CHUNK_ERROR_MESSAGE = "Falha ao gravar o lote de produtos";
+    public static final String INVALID_FILTER_RANGE_ERROR_MESSAGE = "Intervalo de filtro invalido, o valor minimo deve ser menor ou igual ao maximo";
+    public static final String INVALID_FILTER_SORT_ERROR_MESSAGE = "Ordenacao suportada somente pelos campos price e quantity";
+    public static final Set<String> FILTER_SORT_PROPERTIES = Set.of(ProductSpecifications.PRICE, ProductSpecifications.QUANTITY);
+    public static final List<String> FILTER_PRICE_INDEX_ORDER = List.of(ProductSpecifications.PRICE,
+            ProductSpecifications.QUANTITY, ProductSpecifications.ID);
+    public static final List<String> FILTER_QUANTITY_INDEX_ORDER = List.of(ProductSpecifications.QUANTITY,
+            ProductSpecifications.PRICE, ProductSpecifications.ID);
     private final ProductRepository productRepository;
+    private final ProductBatchWriter productBatchWriter;
+    private final ProductBulkProperties productBulkProperties;
+    private final ProductLookupProperties productLookupProperties;
+    private final ProductCache productCache;
+    private final ProductCountCache productCountCache;
+    private final ProductLookupCoalescer productLookupCoalescer;
+    private final StockWriteBehindBuffer stockWriteBehindBuffer;
+    private final ProductSearchIndex productSearchIndex;
+    private final ReplicaDataSourceProperties replicaDataSourceProperties;
+    private final ProductSearchProperties productSearchProperties;
+    private final ProductMetrics productMetrics;
 
     @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "insert"})
     public ProductResponseDTO insertProduct(ProductRequestDTO productRequestDTO) {
 
-        Optional<Product> productOptional = productRepository.findBySerialNumber(productRequestDTO.getSerialNumber());
+        Optional<ProductResponseDTO> bufferedProduct = bufferStockIncrement(productRequestDTO.getSerialNumber(),
+                productRequestDTO.getQuantity());
+        if (bufferedProduct.isPresent()) {
+            return bufferedProduct.get();
+        }
+
+        stockWriteBehindBuffer.flush(productRequestDTO.getSerialNumber());
+        boolean created = upsertStock(productRequestDTO);
+
+        Product product = productRepository.findBySerialNumber(productRequestDTO.getSerialNumber())
+                .orElseThrow(() -> new IllegalStateException(PRODUCT_UPSERT_ERROR_MESSAGE));
 
-        if (productOptional.isPresent()) {
-            log.info("Produto [{}] com serialNumber [{}] encontrado na base de dados com estoque atual de [{}]",
-                    productRequestDTO.getProduct(), productRequestDTO.getSerialNumber(),
-                    productOptional.get().getQuantity());
+        log.debug("[{}] unidades do produto [{}] com serialNumber [{}] foram inseridas com sucesso na base. Estoque atual [{}]",
+                productRequestDTO.getQuantity(), product.getProduct(), product.getSerialNumber(), product.getQuantity());
+
+        ProductResponseDTO productResponseDTO = ProductServiceImplMapper.entityProductToProductResponseDTO(product);
+        productCache.put(productResponseDTO);
+        if (created || Long.valueOf(0L).equals(product.getVersion())) {
+            productCountCache.invalidate();
+        }
+        productSearchIndex.put(product.getSerialNumber(), product.getProduct());
 
-            Product product = productOptional.get();
-            int updateStock = product.getQuantity() + productRequestDTO.getQuantity();
-            product.setQuantity(updateStock);
+        return productResponseDTO;
+    }
 
-            log.info("Produto [{}] com serialNumber [{}] atualizado. Estoque atual [{}]",
-                    productRequestDTO.getProduct(), productRequestDTO.getSerialNumber(),
-                    productOptional.get().getQuantity());
-            return saveAndMapProduct(product);
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "bulk_insert"})
+    public BulkInsertResponseDTO insertProducts(List<ProductRequestDTO> productRequestDTOs) throws BulkLimitExceededException {
+        if (productRequestDTOs.size() > productBulkProperties.getMaxItems()) {
+            log.error("Lote com [{}] itens excede o limite de [{}] itens", productRequestDTOs.size(),
+                    productBulkProperties.getMaxItems());
+            throw new BulkLimitExceededException(BULK_LIMIT_ERROR_MESSAGE);
         }
 
-        Product product = ProductServiceImplMapper.productRequestDTOToProductEntity(productRequestDTO);
+        log.debug("Iniciando insercao em lote de [{}] itens", productRequestDTOs.size());
 
-        log.info("[{}] unidades do produto [{}] com serialNumber [{}] foram inseridas com sucesso na base",
-                productRequestDTO.getQuantity(), product.getProduct(), product.getSerialNumber());
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        Map<String, ProductRequestDTO> mergedProducts = new LinkedHashMap<>();
 
-        return saveAndMapProduct(product);
+        for (ProductRequestDTO productRequestDTO : productRequestDTOs) {
+            if (!mergeBulkItem(mergedProducts, productRequestDTO)) {
+                results.add(ProductServiceImplMapper.failedBulkItemResult(productRequestDTO.getSerialNumber(),
+                        BULK_MISSING_SERIAL_ERROR_MESSAGE));
+            }
+        }
+
+        List<ProductRequestDTO> items = new ArrayList<>(mergedProducts.values());
+        int chunkSize = Math.max(1, productBulkProperties.getChunkSize());
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            results.addAll(writeBulkChunk(items.subList(start, Math.min(start + chunkSize, items.size()))));
+        }
+        invalidateCountIfCreated(results);
+
+        BulkInsertResponseDTO bulkInsertResponseDTO = ProductServiceImplMapper
+                .bulkItemResultsToBulkInsertResponseDTO(productRequestDTOs.size(), results);
+
+        log.debug("Finalizando insercao em lote. Criados [{}], atualizados [{}], com falha [{}]",
+                bulkInsertResponseDTO.getCreated(), bulkInsertResponseDTO.getUpdated(), bulkInsertResponseDTO.getFailed());
+
+        return bulkInsertResponseDTO;
     }
 
     @Override
-    public ProductResponseDTO findProductBySerialNumber(String serialNumber) throws ProductNotFoundException {
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "bulk_insert_stream"})
+    public BulkInsertResponseDTO insertProductsFromStream(Iterator<ProductRequestDTO> productRequestDTOs)
+            throws BulkLimitExceededException {
+        log.debug("Iniciando insercao em lote a partir de fluxo");
+
+        int chunkSize = Math.max(1, productBulkProperties.getChunkSize());
+        int receivedItems = 0;
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        Map<String, ProductRequestDTO> chunk = new LinkedHashMap<>();
+
+        try {
+            while (productRequestDTOs.hasNext()) {
+                ProductRequestDTO productRequestDTO = productRequestDTOs.next();
+                if (++receivedItems > productBulkProperties.getMaxItems()) {
+                    log.error("Lote em fluxo excede o limite de [{}] itens, interrompido apos gravar [{}] itens",
+                            productBulkProperties.getMaxItems(), results.size());
+                    throw new BulkLimitExceededException(BULK_LIMIT_ERROR_MESSAGE);
+                }
+                if (!mergeBulkItem(chunk, productRequestDTO)) {
+                    results.add(ProductServiceImplMapper.failedBulkItemResult(productRequestDTO.getSerialNumber(),
+                            BULK_MISSING_SERIAL_ERROR_MESSAGE));
+                } else if (chunk.size() >= chunkSize) {
+                    results.addAll(writeBulkChunk(new ArrayList<>(chunk.values())));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(writeBulkChunk(new ArrayList<>(chunk.values())));
+            }
+        } finally {
+            invalidateCountIfCreated(results);
+        }
 
-        log.info("Iniciando busca do produto com serialNumber [{}]", serialNumber);
+        BulkInsertResponseDTO bulkInsertResponseDTO = ProductServiceImplMapper
+                .bulkItemResultsToBulkInsertResponseDTO(receivedItems, results);
 
-        Product product = getProductBySerialNumber(serialNumber);
+        log.debug("Finalizando insercao em lote a partir de fluxo. Criados [{}], atualizados [{}], com falha [{}]",
+                bulkInsertResponseDTO.getCreated(), bulkInsertResponseDTO.getUpdated(), bulkInsertResponseDTO.getFailed());
 
-        log.info("Produto [{}] com serialNumber [{}] localizado com sucesso", product.getProduct(),
-                product.getSerialNumber());
+        return bulkInsertResponseDTO;
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "find_by_serial"})
+    @Transactional(readOnly = true)
+    public ProductResponseDTO findProductBySerialNumber(String serialNumber)
+            throws ProductNotFoundException, ProductLookupTimeoutException {
+
+        log.debug("Iniciando busca do produto com serialNumber [{}]", serialNumber);
+
+        Optional<ProductResponseDTO> cachedProduct = productCache.get(serialNumber);
+        if (cachedProduct.isPresent()) {
+            log.debug("Produto com serialNumber [{}] localizado no cache", serialNumber);
+            return cachedProduct.get();
+        }
+
+        if (productCache.isKnownMissing(serialNumber)) {
+            productMetrics.notFound(ProductMetrics.SOURCE_NEGATIVE_CACHE);
+            log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+            throw new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+        }
+
+        ProductResponseDTO productResponseDTO = productLookupCoalescer.load(serialNumber, () -> loadProduct(serialNumber))
+                .orElseThrow(() -> {
+                    productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+                    log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+                    return new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+                });
+
+        log.debug("Produto [{}] com serialNumber [{}] localizado com sucesso", productResponseDTO.getProduct(),
+                productResponseDTO.getSerialNumber());
+
+        return productResponseDTO;
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "find_version"})
+    public ProductVersionDTO findProductVersionBySerialNumber(String serialNumber) throws ProductNotFoundException {
+        Optional<ProductResponseDTO> cachedProduct = productCache.get(serialNumber);
+        if (cachedProduct.isPresent() && cachedProduct.get().getId() != null
+                && cachedProduct.get().getVersion() != null) {
+            return ProductVersionDTO.builder()
+                    .id(cachedProduct.get().getId())
+                    .version(cachedProduct.get().getVersion())
+                    .build();
+        }
+
+        if (productCache.isKnownMissing(serialNumber)) {
+            productMetrics.notFound(ProductMetrics.SOURCE_NEGATIVE_CACHE);
+            log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+            throw new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+        }
+
+        return productRepository.findVersionBySerialNumber(serialNumber)
+                .orElseThrow(() -> {
+                    productCache.markMissing(serialNumber);
+                    productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+                    log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+                    return new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+                });
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "lookup"})
+    @Transactional(readOnly = true)
+    public ProductLookupResponseDTO findProductsBySerialNumbers(List<String> serialNumbers) throws BulkLimitExceededException {
+        Set<String> requestedSerialNumbers = new LinkedHashSet<>();
+        for (String serialNumber : serialNumbers) {
+            if (serialNumber != null && !serialNumber.isBlank()) {
+                requestedSerialNumbers.add(serialNumber);
+            }
+        }
+
+        if (requestedSerialNumbers.size() > productLookupProperties.getMaxItems()) {
+            log.error("Busca em lote com [{}] serialNumbers excede o limite de [{}]", requestedSerialNumbers.size(),
+                    productLookupProperties.getMaxItems());
+            throw new BulkLimitExceededException(LOOKUP_LIMIT_ERROR_MESSAGE);
+        }
+
+        log.debug("Iniciando busca em lote de [{}] serialNumbers", requestedSerialNumbers.size());
+
+        return lookupProducts(requestedSerialNumbers);
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "search"})
+    public List<ProductResponseDTO> searchProductsByName(String query, Integer limit) {
+        int searchLimit = limit == null
+                ? productSearchProperties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, productSearchProperties.getMaxLimit()));
+
+        log.debug("Iniciando busca de ate [{}] produtos pelo nome [{}]", searchLimit, query);
+
+        List<String> serialNumbers = productSearchIndex.search(query, searchLimit);
+        if (serialNumbers.isEmpty()) {
+            log.debug("Nenhum produto localizado pelo nome [{}]", query);
+            return List.of();
+        }
+
+        ProductLookupResponseDTO productLookupResponseDTO = lookupProducts(new LinkedHashSet<>(serialNumbers));
+        if (!productLookupResponseDTO.getMissingSerialNumbers().isEmpty()) {
+            log.debug("Ignorando [{}] serialNumbers do indice de busca nao localizados na consulta",
+                    productLookupResponseDTO.getMissingSerialNumbers().size());
+        }
+        List<ProductResponseDTO> products = new ArrayList<>(productLookupResponseDTO.getProducts().values());
+
+        log.debug("Finalizando busca pelo nome [{}]. Localizados [{}]", query, products.size());
+
+        return products;
+    }
 
-        return ProductServiceImplMapper.entityProductToProductResponseDTO(product);
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "list"})
+    @Transactional(readOnly = true)
+    public PageableResponseDTO findAllProducts(Pageable pageable, boolean withTotal) {
+        log.debug("Iniciando busca de [{}] produtos na pagina [{}]", pageable.getPageSize(), pageable.getPageNumber());
+
+        Slice<ProductResponseDTO> products = productRepository.findAllProjectedBy(pageable);
+
+        log.debug("Finalizando busca de [{}] produtos na pagina [{}]", pageable.getPageSize(), pageable.getPageNumber());
+
+        if (!withTotal) {
+            return ProductServiceImplMapper.sliceToPageableResponseDTO(products);
+        }
+        return ProductServiceImplMapper.pageToPageableResponseDTO(
+                new PageImpl<>(products.getContent(), pageable, productCountCache.get()));
     }
 
     @Override
-    public PageableResponseDTO findAllProducts(Pageable pageable) {
-        log.info("Iniciando busca de [{}] produtos na pagina [{}]", pageable.getPageSize(), pageable.getPageNumber());
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "filter"})
+    @Transactional(readOnly = true)
+    public PageableResponseDTO findProductsByFilter(ProductFilterDTO productFilterDTO, Pageable pageable,
+                                                    boolean withTotal) throws InvalidFilterException {
+        Pageable sortedPageable = validateFilter(productFilterDTO, pageable);
+        Specification<Product> specification = ProductSpecifications.byFilter(productFilterDTO);
+
+        log.debug("Iniciando busca filtrada de [{}] produtos na pagina [{}] com filtro [{}] e ordenacao [{}]",
+                sortedPageable.getPageSize(), sortedPageable.getPageNumber(), productFilterDTO, sortedPageable.getSort());
+
+        if (withTotal) {
+            return ProductServiceImplMapper.pageToPageableResponseDTO(productRepository.findAll(specification, sortedPageable)
+                    .map(ProductServiceImplMapper::entityProductToProductResponseDTO));
+        }
+
+        Window<Product> products = productRepository.findBy(
+                specification.and(ProductSpecifications.orderBy(sortedPageable.getSort())),
+                query -> query
+                        .limit(sortedPageable.getPageSize())
+                        .scroll(sortedPageable.getOffset() == 0
+                                ? ScrollPosition.offset()
+                                : ScrollPosition.offset(sortedPageable.getOffset() - 1)));
 
-        Page<Product> products = productRepository.findAll(pageable);
+        log.debug("Finalizando busca filtrada de [{}] produtos na pagina [{}]", sortedPageable.getPageSize(),
+                sortedPageable.getPageNumber());
 
-        log.info("Finalizando busca de [{}] produtos na pagina [{}]", pageable.getPageSize(), pageable.getPageNumber());
-        return ProductServiceImplMapper.pageEntityToPageableResponseDTO(products);
+        return ProductServiceImplMapper.sliceToPageableResponseDTO(new SliceImpl<>(
+                products.map(ProductServiceImplMapper::entityProductToProductResponseDTO).getContent(),
+                sortedPageable, products.hasNext()));
     }
 
     @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "list_cursor"})
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO findAllProductsAfterCursor(String cursor, int size) throws InvalidCursorException {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : decodeCursor(cursor);
+
+        log.debug("Iniciando busca de [{}] produtos apos o id [{}]", pageSize, afterId);
+
+        List<ProductResponseDTO> products = productRepository.findAllProjectedByIdGreaterThan(afterId,
+                Limit.of(pageSize + 1));
+
+        log.debug("Finalizando busca de [{}] produtos apos o id [{}]", pageSize, afterId);
+        return ProductServiceImplMapper.listToCursorPageResponseDTO(products, pageSize);
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "update"})
     public ProductResponseDTO updateProductBySerialNumber(String serialNumber, ProductRequestDTO productRequestDTO) throws ProductNotFoundException {
 
-        log.info("Iniciando busca do produto com serialNumber [{}] para atualizacao", serialNumber);
+        log.debug("Iniciando busca do produto com serialNumber [{}] para atualizacao", serialNumber);
 
+        stockWriteBehindBuffer.flush(serialNumber);
         Product product = getProductBySerialNumber(serialNumber);
 
         product.setProduct(productRequestDTO.getProduct());
@@ -88,33 +389,348 @@ public class ProductServiceImpl implements ProductService {
         product.setPrice(productRequestDTO.getPrice());
         product.setQuantity(product.getQuantity());
 
-        log.info("Produto [{}] com serialNumber [{}] atualizado com sucesso", product.getProduct(),
+        ProductResponseDTO productResponseDTO = saveAndMapProduct(product);
+
+        productCache.evict(serialNumber);
+        productCache.put(productResponseDTO);
+        productSearchIndex.remove(serialNumber);
+        productSearchIndex.put(product.getSerialNumber(), product.getProduct());
+
+        log.debug("Produto [{}] com serialNumber [{}] atualizado com sucesso", product.getProduct(),
                 product.getSerialNumber());
 
-        return saveAndMapProduct(product);
+        return productResponseDTO;
     }
 
     @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "update_if_match"})
+    @Transactional
+    public ProductResponseDTO updateProductBySerialNumberIfVersionMatches(String serialNumber, Long id, Long version,
+                                                                          ProductRequestDTO productRequestDTO)
+            throws ProductNotFoundException, ProductVersionMismatchException {
+        log.debug("Iniciando atualizacao do produto [{}] com serialNumber [{}] na versao [{}]", id, serialNumber,
+                version);
+
+        stockWriteBehindBuffer.flush(serialNumber);
+        int updatedRows = productRepository.updateIfVersionMatches(serialNumber, id, version,
+                productRequestDTO.getProduct(), productRequestDTO.getSerialNumber(), productRequestDTO.getPrice());
+
+        if (updatedRows == 0) {
+            if (!productRepository.existsBySerialNumber(serialNumber)) {
+                productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+                log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+                throw new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+            }
+            log.error("Versao [{}-{}] nao corresponde a versao atual do produto com serialNumber [{}]", id, version,
+                    serialNumber);
+            throw new ProductVersionMismatchException(PRODUCT_VERSION_MISMATCH_ERROR_MESSAGE);
+        }
+
+        productRepository.evictSecondLevelCache(id, serialNumber);
+        productCache.evict(serialNumber);
+
+        ProductResponseDTO productResponseDTO = productRepository
+                .findProjectedBySerialNumber(productRequestDTO.getSerialNumber())
+                .orElseThrow(() -> new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE));
+        productCache.put(productResponseDTO);
+        productSearchIndex.remove(serialNumber);
+        productSearchIndex.put(productResponseDTO.getSerialNumber(), productResponseDTO.getProduct());
+
+        log.debug("Produto [{}] com serialNumber [{}] atualizado com sucesso para a versao [{}]",
+                productResponseDTO.getProduct(), productResponseDTO.getSerialNumber(), productResponseDTO.getVersion());
+
+        return productResponseDTO;
+    }
+
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "delete"})
     public void deleteProductBySerialNumber(String serialNumber) throws ProductNotFoundException {
-        log.info("Iniciando busca do produto com serialNumber [{}] para remocao", serialNumber);
+        log.debug("Iniciando busca do produto com serialNumber [{}] para remocao", serialNumber);
 
+        stockWriteBehindBuffer.flush(serialNumber);
         Product product = getProductBySerialNumber(serialNumber);
 
         productRepository.delete(product);
+        productCache.evict(serialNumber);
+        productCountCache.invalidate();
+        productSearchIndex.remove(serialNumber);
 
-        log.info("Produto [{}] com serialNumber [{}] deletado com sucesso", product.getProduct(),
+        log.debug("Produto [{}] com serialNumber [{}] deletado com sucesso", product.getProduct(),
                 product.getSerialNumber());
     }
 
+    @Override
+    @Timed(value = ProductMetrics.OPERATION_TIMER, extraTags = {"operation", "adjust_stock"})
+    public void adjustStockBySerialNumber(String serialNumber, int quantity) throws ProductNotFoundException,
+            InsufficientStockException, InvalidStockAdjustmentException {
+        log.debug("Iniciando ajuste de [{}] unidades no estoque do produto com serialNumber [{}]", quantity, serialNumber);
+
+        int decrement = quantity >= 0 ? 0 : negateQuantity(serialNumber, quantity);
+
+        if (quantity >= 0 && bufferStockIncrement(serialNumber, quantity).isPresent()) {
+            return;
+        }
+
+        stockWriteBehindBuffer.flush(serialNumber);
+
+        int updatedRows = quantity >= 0
+                ? productRepository.incrementQuantity(serialNumber, quantity)
+                : productRepository.decrementQuantityIfAvailable(serialNumber, decrement);
+
+        if (updatedRows == 0) {
+            if (!productRepository.existsBySerialNumber(serialNumber)) {
+                productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+                log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
+                throw new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
+            }
+            if (quantity >= 0) {
+                log.error("Estoque do produto com serialNumber [{}] excederia o limite ao adicionar [{}] unidades",
+                        serialNumber, quantity);
+                throw new InvalidStockAdjustmentException(INVALID_STOCK_ADJUSTMENT_ERROR_MESSAGE);
+            }
+            log.error("Estoque insuficiente para remover [{}] unidades do produto com serialNumber [{}]",
+                    decrement, serialNumber);
+            throw new InsufficientStockException(INSUFFICIENT_STOCK_ERROR_MESSAGE);
+        }
+
+        productRepository.evictSecondLevelCache(serialNumber);
+        productCache.evict(serialNumber);
+
+        log.debug("Estoque do produto com serialNumber [{}] ajustado com sucesso", serialNumber);
+    }
+
+    private Optional<ProductResponseDTO> bufferStockIncrement(String serialNumber, int quantity) {
+        if (!stockWriteBehindBuffer.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Optional<ProductResponseDTO> cachedProduct;
+        try {
+            cachedProduct = productCache.addQuantity(serialNumber, quantity);
+        } catch (ArithmeticException ex) {
+            log.debug("Estoque em cache do produto com serialNumber [{}] excederia o limite, gravando no banco",
+                    serialNumber);
+            return Optional.empty();
+        }
+        if (cachedProduct.isEmpty()) {
+            return Optional.empty();
+        }
+
+        stockWriteBehindBuffer.add(serialNumber, quantity);
+        log.debug("[{}] unidades do produto com serialNumber [{}] enfileiradas para gravacao no estoque. Estoque atual [{}]",
+                quantity, serialNumber, cachedProduct.get().getQuantity());
+
+        return cachedProduct;
+    }
+
+    private ProductLookupResponseDTO lookupProducts(Set<String> requestedSerialNumbers) {
+        Map<String, ProductResponseDTO> foundProducts = new HashMap<>();
+        List<String> pendingSerialNumbers = new ArrayList<>();
+        for (String serialNumber : requestedSerialNumbers) {
+            Optional<ProductResponseDTO> cachedProduct = productCache.get(serialNumber);
+            if (cachedProduct.isPresent()) {
+                foundProducts.put(serialNumber, cachedProduct.get());
+            } else if (!productCache.isKnownMissing(serialNumber)) {
+                pendingSerialNumbers.add(serialNumber);
+            }
+        }
+
+        boolean cacheable = !isReplicaRead();
+        int chunkSize = Math.max(1, productLookupProperties.getChunkSize());
+        for (int start = 0; start < pendingSerialNumbers.size(); start += chunkSize) {
+            List<String> chunk = pendingSerialNumbers.subList(start, Math.min(start + chunkSize, pendingSerialNumbers.size()));
+            for (ProductResponseDTO productResponseDTO : productRepository.findAllProjectedBySerialNumberIn(chunk)) {
+                foundProducts.put(productResponseDTO.getSerialNumber(), productResponseDTO);
+                if (cacheable) {
+                    productCache.put(productResponseDTO);
+                }
+            }
+        }
+
+        Set<String> queriedSerialNumbers = new HashSet<>(pendingSerialNumbers);
+        Map<String, ProductResponseDTO> products = new LinkedHashMap<>();
+        List<String> missingSerialNumbers = new ArrayList<>();
+        for (String serialNumber : requestedSerialNumbers) {
+            ProductResponseDTO productResponseDTO = foundProducts.get(serialNumber);
+            if (productResponseDTO != null) {
+                products.put(serialNumber, productResponseDTO);
+            } else {
+                missingSerialNumbers.add(serialNumber);
+                if (cacheable && queriedSerialNumbers.contains(serialNumber)) {
+                    productCache.markMissing(serialNumber);
+                }
+            }
+        }
+
+        log.debug("Finalizando busca em lote. Localizados [{}], consultados no banco [{}], nao localizados [{}]",
+                products.size(), pendingSerialNumbers.size(), missingSerialNumbers.size());
+
+        return ProductServiceImplMapper.productsToProductLookupResponseDTO(products, missingSerialNumbers);
+    }
+
+    private Pageable validateFilter(ProductFilterDTO productFilterDTO, Pageable pageable) throws InvalidFilterException {
+        if (isInvertedRange(productFilterDTO.getMinPrice(), productFilterDTO.getMaxPrice())
+                || isInvertedRange(productFilterDTO.getMinQuantity(), productFilterDTO.getMaxQuantity())) {
+            log.error("Intervalo de filtro invalido [{}]", productFilterDTO);
+            throw new InvalidFilterException(INVALID_FILTER_RANGE_ERROR_MESSAGE);
+        }
+
+        for (Sort.Order order : pageable.getSort()) {
+            if (!FILTER_SORT_PROPERTIES.contains(order.getProperty())) {
+                log.error("Ordenacao nao suportada pela busca filtrada [{}]", order.getProperty());
+                throw new InvalidFilterException(INVALID_FILTER_SORT_ERROR_MESSAGE);
+            }
+        }
+
+        boolean quantityOnly = productFilterDTO.getMinPrice() == null && productFilterDTO.getMaxPrice() == null
+                && (productFilterDTO.getMinQuantity() != null || productFilterDTO.getMaxQuantity() != null);
+        Sort sort = pageable.getSort().isSorted()
+                ? pageable.getSort()
+                : Sort.by(quantityOnly ? ProductSpecifications.QUANTITY : ProductSpecifications.PRICE);
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), indexOrderedSort(sort));
+    }
+
+    private static Sort indexOrderedSort(Sort sort) {
+        List<String> indexOrder = ProductSpecifications.QUANTITY.equals(sort.iterator().next().getProperty())
+                ? FILTER_QUANTITY_INDEX_ORDER
+                : FILTER_PRICE_INDEX_ORDER;
+        Sort indexOrderedSort = sort;
+        for (String property : indexOrder) {
+            if (sort.getOrderFor(property) == null) {
+                indexOrderedSort = indexOrderedSort.and(Sort.by(property));
+            }
+        }
+        return indexOrderedSort;
+    }
+
+    private static <T extends Comparable<T>> boolean isInvertedRange(T min, T max) {
+        return min != null && max != null && min.compareTo(max) > 0;
+    }
+
     private ProductResponseDTO saveAndMapProduct(Product product) {
         Product savedProduct = productRepository.save(product);
         return ProductServiceImplMapper.entityProductToProductResponseDTO(savedProduct);
     }
 
+    private boolean mergeBulkItem(Map<String, ProductRequestDTO> mergedProducts, ProductRequestDTO productRequestDTO) {
+        if (productRequestDTO.getSerialNumber() == null || productRequestDTO.getSerialNumber().isBlank()) {
+            return false;
+        }
+        mergedProducts.merge(productRequestDTO.getSerialNumber(),
+                ProductServiceImplMapper.copyProductRequestDTO(productRequestDTO),
+                (merged, duplicated) -> {
+                    merged.setProduct(duplicated.getProduct());
+                    merged.setPrice(duplicated.getPrice());
+                    merged.setQuantity(merged.getQuantity() + duplicated.getQuantity());
+                    return merged;
+                });
+        return true;
+    }
+
+    private List<BulkItemResultDTO> writeBulkChunk(List<ProductRequestDTO> chunk) {
+        chunk.forEach(productRequestDTO -> stockWriteBehindBuffer.flush(productRequestDTO.getSerialNumber()));
+        List<BulkItemResultDTO> results = writeChunk(chunk);
+
+        Map<String, String> productNames = new HashMap<>();
+        for (ProductRequestDTO productRequestDTO : chunk) {
+            productCache.evict(productRequestDTO.getSerialNumber());
+            productNames.put(productRequestDTO.getSerialNumber(), productRequestDTO.getProduct());
+        }
+        results.stream()
+                .filter(result -> result.getStatus() == BulkItemStatus.CREATED)
+                .forEach(result -> productSearchIndex.put(result.getSerialNumber(),
+                        productNames.get(result.getSerialNumber())));
+
+        return results;
+    }
+
+    private void invalidateCountIfCreated(List<BulkItemResultDTO> results) {
+        if (results.stream().anyMatch(result -> result.getStatus() == BulkItemStatus.CREATED)) {
+            productCountCache.invalidate();
+        }
+    }
+
+    private List<BulkItemResultDTO> writeChunk(List<ProductRequestDTO> chunk) {
+        try {
+            return productBatchWriter.writeChunk(chunk);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Conflito ao gravar lote de [{}] produtos, reprocessando o lote", chunk.size());
+        } catch (DataAccessException ex) {
+            log.error("Falha ao gravar lote de [{}] produtos", chunk.size(), ex);
+            return failedChunk(chunk);
+        }
+
+        try {
+            return productBatchWriter.writeChunk(chunk);
+        } catch (DataAccessException ex) {
+            log.error("Falha ao reprocessar lote de [{}] produtos", chunk.size(), ex);
+            return failedChunk(chunk);
+        }
+    }
+
+    private List<BulkItemResultDTO> failedChunk(List<ProductRequestDTO> chunk) {
+        return chunk.stream()
+                .map(productRequestDTO -> ProductServiceImplMapper.failedBulkItemResult(
+                        productRequestDTO.getSerialNumber(), BULK_CHUNK_ERROR_MESSAGE))
+                .toList();
+    }
+
+    private boolean upsertStock(ProductRequestDTO productRequestDTO) {
+        boolean created = !productRepository.existsBySerialNumber(productRequestDTO.getSerialNumber());
+        try {
+            productRepository.upsertStock(productRequestDTO.getSerialNumber(), productRequestDTO.getProduct(),
+                    productRequestDTO.getPrice(), productRequestDTO.getQuantity());
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Produto com serialNumber [{}] inserido concorrentemente, reaplicando incremento de estoque",
+                    productRequestDTO.getSerialNumber());
+            productRepository.upsertStock(productRequestDTO.getSerialNumber(), productRequestDTO.getProduct(),
+                    productRequestDTO.getPrice(), productRequestDTO.getQuantity());
+            created = true;
+        }
+        productRepository.evictSecondLevelCache(productRequestDTO.getSerialNumber());
+        return created;
+    }
+
+    private int negateQuantity(String serialNumber, int quantity) throws InvalidStockAdjustmentException {
+        try {
+            return Math.negateExact(quantity);
+        } catch (ArithmeticException ex) {
+            log.error("Ajuste de [{}] unidades fora do limite para o produto com serialNumber [{}]", quantity,
+                    serialNumber);
+            throw new InvalidStockAdjustmentException(INVALID_STOCK_ADJUSTMENT_ERROR_MESSAGE);
+        }
+    }
+
+    private Long decodeCursor(String cursor) throws InvalidCursorException {
+        try {
+            return ProductServiceImplMapper.decodeCursor(cursor);
+        } catch (IllegalArgumentException ex) {
+            log.error("Cursor de paginacao invalido [{}]", cursor);
+            throw new InvalidCursorException(INVALID_CURSOR_ERROR_MESSAGE);
+        }
+    }
+
+    private Optional<ProductResponseDTO> loadProduct(String serialNumber) {
+        Optional<ProductResponseDTO> productResponseDTO = productRepository.findBySerialNumber(serialNumber)
+                .map(ProductServiceImplMapper::entityProductToProductResponseDTO);
+        if (isReplicaRead()) {
+            log.debug("Produto com serialNumber [{}] lido da replica, cache nao atualizado", serialNumber);
+            return productResponseDTO;
+        }
+        productResponseDTO.ifPresentOrElse(productCache::put, () -> productCache.markMissing(serialNumber));
+        return productResponseDTO;
+    }
+
+    private boolean isReplicaRead() {
+        return replicaDataSourceProperties.isEnabled() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
     private Product getProductBySerialNumber(String serialNumber) throws ProductNotFoundException {
         return productRepository.findBySerialNumber(serialNumber)
                 .orElseThrow(() -> {
-                    log.error(PRODUCT_NOT_FOUND_LOG_ERROR, serialNumber);
+                    productCache.markMissing(serialNumber);
+                    productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+                    log.debug(PRODUCT_NOT_FOUND_LOG_MESSAGE, serialNumber);
                     return new ProductNotFoundException(PRODUCT_NOT_FOUND_ERROR_MESSAGE);
                 });
     }
@@ -1,11 +1,24 @@
 package br.com.rafaelmoura.spring_security_api.service.mapper;
 
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkItemResultDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
 import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 
 @UtilityClass
 public class ProductServiceImplMapper {
@@ -15,6 +28,8 @@ public class ProductServiceImplMapper {
                 .serialNumber(product.getSerialNumber())
                 .price(product.getPrice())
                 .quantity(product.getQuantity())
+                .version(product.getVersion())
+                .id(product.getId())
                 .build();
     }
 
@@ -29,7 +44,7 @@ public class ProductServiceImplMapper {
 
     }
 
-    public PageableResponseDTO pageEntityToPageableResponseDTO(Page<Product> page) {
+    public PageableResponseDTO pageToPageableResponseDTO(Page<ProductResponseDTO> page) {
         return PageableResponseDTO.builder()
                 .content(page.getContent())
                 .pageNumber(page.getNumber())
@@ -39,4 +54,116 @@ public class ProductServiceImplMapper {
                 .lastPage(page.isLast())
                 .build();
     }
+
+    public PageableResponseDTO sliceToPageableResponseDTO(Slice<ProductResponseDTO> slice) {
+        return PageableResponseDTO.builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .firstPage(slice.isFirst())
+                .lastPage(slice.isLast())
+                .build();
+    }
+
+    public CursorPageResponseDTO listToCursorPageResponseDTO(List<ProductResponseDTO> products, int size) {
+        boolean lastPage = products.size() <= size;
+        List<ProductResponseDTO> content = lastPage ? products : products.subList(0, size);
+
+        return CursorPageResponseDTO.builder()
+                .content(List.copyOf(content))
+                .size(content.size())
+                .nextCursor(lastPage ? null : encodeCursor(content.get(content.size() - 1).getId()))
+                .lastPage(lastPage)
+                .build();
+    }
+
+    public ProductLookupResponseDTO productsToProductLookupResponseDTO(Map<String, ProductResponseDTO> products,
+                                                                        List<String> missingSerialNumbers) {
+        return ProductLookupResponseDTO.builder()
+                .products(products)
+                .missingSerialNumbers(missingSerialNumbers)
+                .build();
+    }
+
+    public String versionToETag(Long id, Long version) {
+        return id == null || version == null ? null : "\"" + id + "-" + version + "\"";
+    }
+
+    public String productVersionDTOToETag(ProductVersionDTO productVersionDTO) {
+        return versionToETag(productVersionDTO.getId(), productVersionDTO.getVersion());
+    }
+
+    public ProductVersionDTO eTagToProductVersionDTO(String eTag) {
+        String value = eTag.trim();
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return new ProductVersionDTO();
+        }
+        String[] parts = value.substring(1, value.length() - 1).split("-", -1);
+        if (parts.length != 2) {
+            return new ProductVersionDTO();
+        }
+        try {
+            return ProductVersionDTO.builder()
+                    .id(Long.valueOf(parts[0]))
+                    .version(Long.valueOf(parts[1]))
+                    .build();
+        } catch (NumberFormatException ex) {
+            return new ProductVersionDTO();
+        }
+    }
+
+    public String pageableResponseDTOToETag(PageableResponseDTO pageableResponseDTO) {
+        StringBuilder eTagSource = new StringBuilder()
+                .append(pageableResponseDTO.getPageNumber()).append('|')
+                .append(pageableResponseDTO.getTotalRecords()).append('|')
+                .append(pageableResponseDTO.isLastPage());
+        for (ProductResponseDTO productResponseDTO : pageableResponseDTO.getContent()) {
+            eTagSource.append('|').append(productResponseDTO.getSerialNumber())
+                    .append(':').append(productResponseDTO.getId())
+                    .append('-').append(productResponseDTO.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(eTagSource.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long decodeCursor(String cursor) {
+        return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    }
+
+    public ProductRequestDTO copyProductRequestDTO(ProductRequestDTO productRequestDTO) {
+        return ProductRequestDTO.builder()
+                .product(productRequestDTO.getProduct())
+                .serialNumber(productRequestDTO.getSerialNumber())
+                .price(productRequestDTO.getPrice())
+                .quantity(productRequestDTO.getQuantity())
+                .build();
+    }
+
+    public BulkItemResultDTO bulkItemResult(Product product, BulkItemStatus status) {
+        return BulkItemResultDTO.builder()
+                .serialNumber(product.getSerialNumber())
+                .status(status)
+                .quantity(product.getQuantity())
+                .build();
+    }
+
+    public BulkItemResultDTO failedBulkItemResult(String serialNumber, String message) {
+        return BulkItemResultDTO.builder()
+                .serialNumber(serialNumber)
+                .status(BulkItemStatus.FAILED)
+                .message(message)
+                .build();
+    }
+
+    public BulkInsertResponseDTO bulkItemResultsToBulkInsertResponseDTO(int receivedItems, List<BulkItemResultDTO> results) {
+        return BulkInsertResponseDTO.builder()
+                .receivedItems(receivedItems)
+                .created((int) results.stream().filter(result -> result.getStatus() == BulkItemStatus.CREATED).count())
+                .updated((int) results.stream().filter(result -> result.getStatus() == BulkItemStatus.UPDATED).count())
+                .failed((int) results.stream().filter(result -> result.getStatus() == BulkItemStatus.FAILED).count())
+                .results(results)
+                .build();
+    }
 }
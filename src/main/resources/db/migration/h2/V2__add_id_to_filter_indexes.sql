@@ -0,0 +1,7 @@
+DROP INDEX ix_tb_produtos_price_quantity;
+DROP INDEX ix_tb_produtos_price_desc_quantity;
+DROP INDEX ix_tb_produtos_quantity_price;
+
+CREATE INDEX ix_tb_produtos_price_quantity_id ON tb_produtos (price, quantity, id);
+CREATE INDEX ix_tb_produtos_price_desc_quantity_id ON tb_produtos (price DESC, quantity, id);
+CREATE INDEX ix_tb_produtos_quantity_price_id ON tb_produtos (quantity, price, id);
@@ -0,0 +1,18 @@
+CREATE SEQUENCE tb_produtos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tb_produtos (
+    id            BIGINT DEFAULT nextval('tb_produtos_seq') NOT NULL,
+    product       VARCHAR(255),
+    serial_number VARCHAR(255),
+    price         NUMERIC(38, 2),
+    quantity      INTEGER NOT NULL,
+    version       BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_tb_produtos PRIMARY KEY (id),
+    CONSTRAINT ux_tb_produtos_serial_number UNIQUE (serial_number)
+);
+
+ALTER SEQUENCE tb_produtos_seq OWNED BY tb_produtos.id;
+
+CREATE INDEX ix_tb_produtos_price_quantity ON tb_produtos (price, quantity);
+CREATE INDEX ix_tb_produtos_price_desc_quantity ON tb_produtos (price DESC, quantity);
+CREATE INDEX ix_tb_produtos_quantity_price ON tb_produtos (quantity, price);
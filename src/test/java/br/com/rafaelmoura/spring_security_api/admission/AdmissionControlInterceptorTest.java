@@ -0,0 +1,147 @@
+package br.com.rafaelmoura.spring_security_api.admission;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.AdmissionRejectedException;
+import br.com.rafaelmoura.spring_security_api.model.enums.AdmissionBudget;
+import br.com.rafaelmoura.spring_security_api.model.enums.ConcurrencyLimitAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+public class AdmissionControlInterceptorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    AdmissionControlProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AdmissionControlProperties();
+        properties.setAlgorithm(ConcurrencyLimitAlgorithm.FIXED);
+        properties.setMaxLimit(2);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        properties.setBudgets(Map.of(AdmissionBudget.READ, 10, AdmissionBudget.WRITE, 2));
+    }
+
+    @Test
+    @DisplayName(value = "Devera rejeitar de imediato a requisicao acima do limite do endpoint e admitir apos a liberacao")
+    void mustBeRejectRequestAboveEndpointLimitAndAdmitAfterRelease() throws Exception {
+
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(properties, meterRegistry);
+        MockHttpServletRequest first = request("GET");
+        MockHttpServletRequest second = request("GET");
+
+        Assertions.assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), handler("find")));
+        Assertions.assertTrue(interceptor.preHandle(second, new MockHttpServletResponse(), handler("find")));
+
+        AdmissionRejectedException exception = Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler("find")));
+        Assertions.assertEquals(3, exception.getRetryAfterSeconds());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+        Assertions.assertEquals(1, rejected(AdmissionControlInterceptor.SCOPE_ENDPOINT, "find"));
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), handler("find"), null);
+
+        Assertions.assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler("find")));
+        Assertions.assertEquals(2, meterRegistry.get(AdmissionControlInterceptor.LIMIT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_ENDPOINT).tag("name", "find").gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter as leituras admitidas quando o orcamento de escrita estiver esgotado")
+    void mustBeAdmitReadsWhenWriteBudgetIsExhausted() throws Exception {
+
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(properties, meterRegistry);
+
+        Assertions.assertTrue(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), handler("insert")));
+        Assertions.assertTrue(interceptor.preHandle(request("PUT"), new MockHttpServletResponse(), handler("update")));
+
+        Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("PUT"), new MockHttpServletResponse(), handler("update")));
+        Assertions.assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), handler("find")));
+
+        Assertions.assertEquals(1, rejected(AdmissionControlInterceptor.SCOPE_BUDGET, "write"));
+        Assertions.assertEquals(1, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_ENDPOINT).tag("name", "update").gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera contabilizar no orcamento de leitura o endpoint configurado como leitura")
+    void mustBeUseReadBudgetForEndpointOverride() throws Exception {
+
+        AdmissionControlProperties.Endpoint endpoint = new AdmissionControlProperties.Endpoint();
+        endpoint.setBudget(AdmissionBudget.READ);
+        endpoint.setMaxLimit(5);
+        properties.setEndpoints(Map.of("lookup", endpoint));
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(properties, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(interceptor.preHandle(request("POST"), new MockHttpServletResponse(),
+                    handler("lookup")));
+        }
+
+        Assertions.assertEquals(5, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_BUDGET).tag("name", "read").gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_BUDGET).tag("name", "write").gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter a vaga da requisicao assincrona ate a conclusao do despacho final")
+    void mustBeHoldPermitUntilAsyncDispatchCompletes() throws Exception {
+
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(properties, meterRegistry);
+        MockHttpServletRequest request = request("GET");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("export"));
+        interceptor.afterConcurrentHandlingStarted(request, new MockHttpServletResponse(), handler("export"));
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("export"));
+
+        Assertions.assertEquals(1, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_ENDPOINT).tag("name", "export").gauge().value());
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("export"), null);
+
+        Assertions.assertEquals(0, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_ENDPOINT).tag("name", "export").gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("scope", AdmissionControlInterceptor.SCOPE_BUDGET).tag("name", "read").gauge().value());
+    }
+
+    private double rejected(String scope, String name) {
+        return meterRegistry.get(AdmissionControlInterceptor.REJECTED_COUNTER).tag("scope", scope).tag("name", name)
+                .counter().count();
+    }
+
+    private MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/api/products/v1");
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(name));
+    }
+
+    public static class SampleController {
+        public void find() {
+        }
+
+        public void insert() {
+        }
+
+        public void update() {
+        }
+
+        public void lookup() {
+        }
+
+        public void export() {
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.SpringSecurityApiApplication;
+import br.com.rafaelmoura.spring_security_api.admission.AdmissionControlInterceptor;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Tag("benchmark")
+public class AdmissionControlOverloadBenchmarkTest {
+
+    public static final int POOL_SIZE = 4;
+    public static final long SERVICE_TIME_MILLIS = 50;
+    public static final long POOL_TIMEOUT_MILLIS = 5_000;
+    public static final int CLIENTS = 40;
+    public static final Duration WARM_UP = Duration.ofSeconds(3);
+    public static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Test
+    @DisplayName(value = "Compara a latencia sob sobrecarga com e sem controle de admissao")
+    void measureLatencyUnderOverload() throws Exception {
+
+        Result unbounded = run("sem_controle_admissao", false);
+        Result bounded = run("com_controle_admissao", true);
+
+        log.info("[benchmark] reducao_p99={} vazao_sem_controle_rps={} vazao_com_controle_rps={}",
+                String.format("%.1fx", (double) unbounded.p99Millis() / Math.max(1, bounded.p99Millis())),
+                unbounded.throughput(), bounded.throughput());
+
+        Assertions.assertTrue(bounded.rejected() > 0);
+        Assertions.assertTrue(bounded.p99Millis() < unbounded.p99Millis());
+    }
+
+    private Result run(String mode, boolean admission) throws Exception {
+        Semaphore pool = new Semaphore(POOL_SIZE, true);
+        try (ConfigurableApplicationContext context = start(admission, pool)) {
+            String url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/products/v1/OVL0000001";
+
+            load(url, WARM_UP, new ConcurrentLinkedQueue<>(), new AtomicLong(), new AtomicLong());
+
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicLong rejected = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            load(url, MEASUREMENT, latencies, rejected, failed);
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Result result = new Result(sorted.length, rejected.get(), failed.get(),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * 0.99)]),
+                    sorted.length / MEASUREMENT.toSeconds());
+
+            log.info("[benchmark] modo={} clientes={} pool={} tempo_servico_ms={} sucesso={} rejeitadas_503={} "
+                            + "falhas_500={} p50_ms={} p99_ms={} vazao_rps={} limite_endpoint={}", mode, CLIENTS,
+                    POOL_SIZE, SERVICE_TIME_MILLIS, result.succeeded(), result.rejected(), result.failed(),
+                    result.p50Millis(), result.p99Millis(), result.throughput(), endpointLimit(context));
+            return result;
+        }
+    }
+
+    private void load(String url, Duration duration, ConcurrentLinkedQueue<Long> latencies, AtomicLong rejected,
+                      AtomicLong failed) throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executorService.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - start;
+                    if (response.statusCode() == 200) {
+                        latencies.add(elapsed);
+                    } else if (response.statusCode() == 503) {
+                        rejected.incrementAndGet();
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(Long.parseLong(response.headers()
+                                .firstValue(HttpHeaders.RETRY_AFTER).orElse("1"))));
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+    }
+
+    private ConfigurableApplicationContext start(boolean admission, Semaphore pool) {
+        ProductService unused = Mockito.mock(ProductService.class);
+        ProductService productService = (ProductService) Proxy.newProxyInstance(ProductService.class.getClassLoader(),
+                new Class<?>[]{ProductService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findProductBySerialNumber")) {
+                        return method.invoke(unused, args);
+                    }
+                    if (!pool.tryAcquire(POOL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        throw new IllegalStateException("Tempo esgotado aguardando conexao do pool");
+                    }
+                    try {
+                        Thread.sleep(SERVICE_TIME_MILLIS);
+                    } finally {
+                        pool.release();
+                    }
+                    return ProductResponseDTO.builder()
+                            .product("Produto sob carga")
+                            .serialNumber((String) args[0])
+                            .price(BigDecimal.TEN)
+                            .quantity(1)
+                            .version(0L)
+                            .build();
+                });
+
+        return new SpringApplicationBuilder(SpringSecurityApiApplication.class)
+                .initializers((ApplicationContextInitializer<GenericApplicationContext>) context -> context
+                        .registerBean("overloadProductService", ProductService.class, () -> productService,
+                                definition -> definition.setPrimary(true)))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:overload_" + admission,
+                        "--products.admission.enabled=" + admission,
+                        "--logging.level.br.com.rafaelmoura.spring_security_api.filter=WARN");
+    }
+
+    private Object endpointLimit(ConfigurableApplicationContext context) {
+        return context.getBean(MeterRegistry.class).find(AdmissionControlInterceptor.LIMIT_GAUGE)
+                .tag("name", "findProductBySerialNumber")
+                .gauges().stream()
+                .map(gauge -> (Object) (int) gauge.value())
+                .findFirst()
+                .orElse("-");
+    }
+
+    private record Result(long succeeded, long rejected, long failed, long p50Millis, long p99Millis,
+                          long throughput) {
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+public class BulkInsertBenchmarkTest {
+
+    public static final int PRODUCTS = 20_000;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName(value = "Compara a vazao da insercao em lote com a insercao unitaria")
+    void measureBulkVersusSingleInsertThroughput() throws Exception {
+
+        List<ProductRequestDTO> singleItems = products("UNI");
+        long start = System.nanoTime();
+        for (ProductRequestDTO productRequestDTO : singleItems) {
+            productService.insertProduct(productRequestDTO);
+        }
+        report("unitario", System.nanoTime() - start);
+
+        List<ProductRequestDTO> bulkItems = products("LOT");
+        start = System.nanoTime();
+        BulkInsertResponseDTO response = productService.insertProducts(bulkItems);
+        report("lote", System.nanoTime() - start);
+
+        Assertions.assertEquals(PRODUCTS, response.getCreated());
+        Assertions.assertEquals(2L * PRODUCTS, productRepository.count());
+    }
+
+    private List<ProductRequestDTO> products(String prefix) {
+        List<ProductRequestDTO> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(ProductRequestDTO.builder()
+                    .product("Produto " + i)
+                    .serialNumber(String.format("%s%08d", prefix, i))
+                    .price(BigDecimal.valueOf(10))
+                    .quantity(1)
+                    .build());
+        }
+        return products;
+    }
+
+    private void report(String mode, long elapsed) {
+        log.info("[benchmark] modo={} produtos={} tempo_ms={} produtos_por_segundo={}", mode, PRODUCTS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), PRODUCTS * 1_000_000_000L / elapsed);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.SpringSecurityApiApplication;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+public class FileStorageBenchmarkTest {
+
+    public static final int CATALOG_SIZE = 200_000;
+    public static final int COLD_LOOKUPS = 2_000;
+    public static final int STEADY_LOOKUPS = 20_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName(value = "Mede a partida a frio e a latencia em regime do H2 em arquivo comparado ao H2 em memoria")
+    void measureColdStartAndSteadyStateLatency() throws Exception {
+
+        try (ConfigurableApplicationContext context = start("h2-file", "H2_DATA_DIR=" + dataDir)) {
+            load(context.getBean(JdbcTemplate.class));
+        }
+        long databaseBytes;
+        try (var files = Files.list(dataDir)) {
+            databaseBytes = files.mapToLong(path -> path.toFile().length()).sum();
+        }
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("h2-file", "H2_DATA_DIR=" + dataDir)) {
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("[benchmark] armazenamento=arquivo produtos={} tamanho_arquivo_mb={} partida_ms={}", CATALOG_SIZE,
+                    databaseBytes / (1024 * 1024), startupMillis);
+            measure("arquivo", context.getBean(ProductService.class));
+        }
+
+        try (ConfigurableApplicationContext context = start("default", "spring.datasource.url=jdbc:h2:mem:file_storage_benchmark")) {
+            load(context.getBean(JdbcTemplate.class));
+            measure("memoria", context.getBean(ProductService.class));
+        }
+    }
+
+    private ConfigurableApplicationContext start(String profile, String storageProperty) {
+        return new SpringApplicationBuilder(SpringSecurityApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties(storageProperty,
+                        "products.cache.enabled=false",
+                        "products.cache.coalescing.enabled=false")
+                .run();
+    }
+
+    private void load(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            rows.add(new Object[]{"Produto " + i, serialNumber(i), BigDecimal.valueOf(1000 + i % 9000, 2), i % 500});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (product, serial_number, price, quantity) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    private void measure(String storage, ProductService productService) throws Exception {
+        Random random = new Random(42);
+        long[] cold = lookups(productService, random, COLD_LOOKUPS);
+        report(storage, "frio", cold);
+
+        lookups(productService, random, STEADY_LOOKUPS);
+        long[] steady = lookups(productService, random, STEADY_LOOKUPS);
+        report(storage, "regime", steady);
+
+        Assertions.assertTrue(steady[steady.length / 2] > 0);
+    }
+
+    private long[] lookups(ProductService productService, Random random, int count) throws Exception {
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            String serialNumber = serialNumber(random.nextInt(CATALOG_SIZE));
+            long start = System.nanoTime();
+            productService.findProductBySerialNumber(serialNumber);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private void report(String storage, String phase, long[] latencies) {
+        log.info("[benchmark] armazenamento={} fase={} buscas={} p50_us={} p99_us={} max_us={}", storage, phase,
+                latencies.length, TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[(int) (latencies.length * 0.99)]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length - 1]));
+    }
+
+    private String serialNumber(int i) {
+        return String.format("FSB%08d", i);
+    }
+}
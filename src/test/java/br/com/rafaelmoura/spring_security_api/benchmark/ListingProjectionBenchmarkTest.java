@@ -0,0 +1,103 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ListingProjectionBenchmarkTest {
+
+    public static final int PAGE_SIZE = 1_000;
+    public static final int PAGES = 20;
+    public static final int ITERATIONS = 200;
+
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private int page;
+
+    @BeforeAll
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(PAGE_SIZE * PAGES);
+        for (int i = 0; i < PAGE_SIZE * PAGES; i++) {
+            rows.add(new Object[]{"Produto " + i, String.format("PRJ%08d", i), BigDecimal.valueOf(10), 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                        + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                rows);
+    }
+
+    @AfterAll
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName(value = "Compara tempo e alocacao por pagina de 1.000 produtos entre entidades gerenciadas e projecao")
+    void measureEntityVersusProjectionListing() {
+
+        measure("entidade", () -> transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT p FROM Product p", Product.class)
+                .setFirstResult(nextOffset())
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(ProductServiceImplMapper::entityProductToProductResponseDTO)
+                .toList()));
+
+        measure("projecao", () -> productRepository
+                .findAllProjectedBy(PageRequest.of(nextOffset() / PAGE_SIZE, PAGE_SIZE))
+                .getContent());
+    }
+
+    private int nextOffset() {
+        page = (page + 1) % PAGES;
+        return page * PAGE_SIZE;
+    }
+
+    private void measure(String mode, Supplier<List<ProductResponseDTO>> listing) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            listing.get();
+        }
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Assertions.assertEquals(PAGE_SIZE, listing.get().size());
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        log.info("[benchmark] modo={} tamanho_pagina={} tempo_medio_us={} alocacao_media_kb={}", mode, PAGE_SIZE,
+                TimeUnit.NANOSECONDS.toMicros(elapsed / ITERATIONS), allocated / ITERATIONS / 1024);
+    }
+}
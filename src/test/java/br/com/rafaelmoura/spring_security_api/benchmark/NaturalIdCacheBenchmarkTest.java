@@ -0,0 +1,111 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class NaturalIdCacheBenchmarkTest {
+
+    public static final int CATALOG_SIZE = 200_000;
+    public static final int HOT_PRODUCTS = 5_000;
+    public static final int LOOKUPS = 50_000;
+
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            rows.add(new Object[]{"Produto " + i, serialNumber(i), BigDecimal.valueOf(1000 + i % 9000, 2), i % 500});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (product, serial_number, price, quantity) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    @AfterAll
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName(value = "Compara a busca por serialNumber via consulta derivada e via natural id com cache de segundo nivel")
+    void measureNaturalIdLookupAgainstDerivedQuery() {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Lookup derivedQuery = serialNumber -> transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.serialNumber = :serialNumber", Product.class)
+                .setParameter("serialNumber", serialNumber)
+                .getResultList());
+        Lookup naturalId = serialNumber -> productRepository.findBySerialNumber(serialNumber);
+
+        run("consulta_derivada", derivedQuery, new Random(42), LOOKUPS);
+        long[] derived = run("consulta_derivada", derivedQuery, new Random(7), LOOKUPS);
+
+        run("natural_id_cache", naturalId, new Random(42), LOOKUPS);
+        long statements = statistics.getPrepareStatementCount();
+        long[] cached = run("natural_id_cache", naturalId, new Random(7), LOOKUPS);
+        long statementsPerLookup = (statistics.getPrepareStatementCount() - statements) / LOOKUPS;
+
+        log.info("[benchmark] natural_id_cache_hits={} segundo_nivel_hits={} comandos_sql_por_busca={} ganho_p50={}",
+                statistics.getNaturalIdCacheHitCount(), statistics.getSecondLevelCacheHitCount(), statementsPerLookup,
+                String.format("%.1fx", (double) derived[derived.length / 2] / cached[cached.length / 2]));
+
+        Assertions.assertEquals(0, statementsPerLookup);
+        Assertions.assertTrue(cached[cached.length / 2] < derived[derived.length / 2]);
+    }
+
+    private long[] run(String mode, Lookup lookup, Random random, int count) {
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            String serialNumber = serialNumber(random.nextInt(HOT_PRODUCTS) * (CATALOG_SIZE / HOT_PRODUCTS));
+            long start = System.nanoTime();
+            lookup.find(serialNumber);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        log.info("[benchmark] modo={} produtos={} produtos_quentes={} buscas={} p50_us={} p99_us={}", mode,
+                CATALOG_SIZE, HOT_PRODUCTS, count, TimeUnit.NANOSECONDS.toMicros(latencies[count / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[(int) (count * 0.99)]));
+        return latencies;
+    }
+
+    private String serialNumber(int i) {
+        return String.format("NIB%08d", i);
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Object find(String serialNumber);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.GenericException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.metrics.ProductMetrics;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+public class NotFoundBenchmarkTest {
+
+    public static final int ITERATIONS = 200_000;
+    public static final int STACK_DEPTH = 120;
+    public static final String MESSAGE = "Produto nao localizado com o serialNumber informado";
+    public static final String LOG_MESSAGE = "Produto nao localizado com o serialNumber [{}]";
+    public static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName(value = "Compara o custo de uma busca sem resultado antes e depois da excecao sem stack trace e do log em debug")
+    void measureNotFoundCost() throws Exception {
+
+        LoggerContext loggerContext = loggerContext();
+        Logger serviceLogger = loggerContext.getLogger("benchmark.ProductServiceImpl");
+        ProductMetrics productMetrics = new ProductMetrics(new SimpleMeterRegistry());
+
+        Miss before = serialNumber -> {
+            serviceLogger.error(LOG_MESSAGE, serialNumber);
+            return new GenericException(MESSAGE, "Not Found");
+        };
+        Miss stacklessOnly = serialNumber -> {
+            serviceLogger.error(LOG_MESSAGE, serialNumber);
+            return new ProductNotFoundException(MESSAGE);
+        };
+        Miss after = serialNumber -> {
+            productMetrics.notFound(ProductMetrics.SOURCE_DATABASE);
+            serviceLogger.debug(LOG_MESSAGE, serialNumber);
+            return new ProductNotFoundException(MESSAGE);
+        };
+
+        long beforeNanos = run("antes_stack_trace_log_error", before);
+        run("sem_stack_trace_log_error", stacklessOnly);
+        long afterNanos = run("depois_sem_stack_trace_metrica", after);
+
+        loggerContext.stop();
+
+        log.info("[benchmark] ganho={}", String.format("%.1fx", (double) beforeNanos / afterNanos));
+
+        Assertions.assertTrue(afterNanos < beforeNanos);
+    }
+
+    private long run(String mode, Miss miss) throws Exception {
+        atDepth(STACK_DEPTH, miss, ITERATIONS / 4);
+        long start = System.nanoTime();
+        atDepth(STACK_DEPTH, miss, ITERATIONS);
+        long nanosPerMiss = (System.nanoTime() - start) / ITERATIONS;
+
+        log.info("[benchmark] modo={} profundidade_pilha={} buscas={} custo_por_busca_ns={}", mode, STACK_DEPTH,
+                ITERATIONS, nanosPerMiss);
+        return nanosPerMiss;
+    }
+
+    private int atDepth(int depth, Miss miss, int iterations) throws Exception {
+        if (depth > 0) {
+            return atDepth(depth - 1, miss, iterations) + 1;
+        }
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                throw miss.apply("ZZZ" + i);
+            } catch (GenericException ex) {
+                sink += ex.getMessage().length();
+            }
+        }
+        return sink;
+    }
+
+    private LoggerContext loggerContext() {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(tempDir.resolve("not-found.log").toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(fileAppender);
+        return loggerContext;
+    }
+
+    @FunctionalInterface
+    private interface Miss {
+        GenericException apply(String serialNumber);
+    }
+}
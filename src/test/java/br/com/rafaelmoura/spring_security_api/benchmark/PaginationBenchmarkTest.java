@@ -0,0 +1,89 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PaginationBenchmarkTest {
+
+    public static final int PAGE_SIZE = 20;
+    public static final int DEEP_PAGE = 10_000;
+    public static final int CATALOG_SIZE = (DEEP_PAGE + 1) * PAGE_SIZE;
+    public static final int ITERATIONS = 50;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            rows.add(new Object[]{"Produto " + i, String.format("PAG%08d", i), BigDecimal.valueOf(10), 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                        + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                rows);
+    }
+
+    @AfterAll
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName(value = "Compara a latencia da pagina 1 e da pagina 10.000 com paginacao por offset e por cursor")
+    void measureOffsetVersusKeysetLatency() throws Exception {
+
+        Long deepPageAfterId = jdbcTemplate.queryForObject("SELECT id FROM tb_produtos ORDER BY id LIMIT 1 OFFSET ?",
+                Long.class, DEEP_PAGE * PAGE_SIZE - 1);
+        String firstPageCursor = null;
+        String deepPageCursor = ProductServiceImplMapper.encodeCursor(deepPageAfterId);
+
+        report("offset+count", 1, measure(() -> productRepository.findAll(PageRequest.of(0, PAGE_SIZE))));
+        report("offset+count", DEEP_PAGE, measure(() -> productRepository.findAll(PageRequest.of(DEEP_PAGE, PAGE_SIZE))));
+        report("offset", 1, measure(() -> productService.findAllProducts(PageRequest.of(0, PAGE_SIZE), false)));
+        report("offset", DEEP_PAGE, measure(() -> productService.findAllProducts(PageRequest.of(DEEP_PAGE, PAGE_SIZE), false)));
+        report("keyset", 1, measure(() -> productService.findAllProductsAfterCursor(firstPageCursor, PAGE_SIZE)));
+        report("keyset", DEEP_PAGE, measure(() -> productService.findAllProductsAfterCursor(deepPageCursor, PAGE_SIZE)));
+    }
+
+    private long measure(Call call) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private void report(String mode, int page, long nanosPerCall) {
+        log.info("[benchmark] modo={} pagina={} latencia_media_us={}", mode, page,
+                TimeUnit.NANOSECONDS.toMicros(nanosPerCall));
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws Exception;
+    }
+}
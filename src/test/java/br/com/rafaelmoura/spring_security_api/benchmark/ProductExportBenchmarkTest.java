@@ -0,0 +1,112 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+import br.com.rafaelmoura.spring_security_api.service.ProductExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductExportBenchmarkTest {
+
+    public static final int CATALOG_SIZE = 1_000_000;
+    public static final int INSERT_CHUNK = 10_000;
+    public static final long MAX_LIVE_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    ProductExportService productExportService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        for (int chunk = 0; chunk < CATALOG_SIZE; chunk += INSERT_CHUNK) {
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+            for (int i = chunk; i < chunk + INSERT_CHUNK; i++) {
+                rows.add(new Object[]{"Produto " + i, String.format("EXP%08d", i), BigDecimal.valueOf(10), 1});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                            + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                    rows);
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE tb_produtos");
+    }
+
+    @Test
+    @DisplayName(value = "Devera exportar 1M de produtos em NDJSON com consumo de memoria constante")
+    void mustBeExportOneMillionProductsWithFlatMemory() throws Exception {
+
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memoryMXBean.getHeapMemoryUsage().getUsed();
+
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                System.gc();
+                peakHeap.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        long start = System.nanoTime();
+        long exported = productExportService.exportProducts(outputStream, ExportFormat.NDJSON);
+        long elapsed = System.nanoTime() - start;
+
+        sampler.interrupt();
+        sampler.join();
+
+        log.info("[benchmark] exportados={} bytes={} tempo_ms={} heap_vivo_base_mb={} heap_vivo_pico_mb={}", exported,
+                outputStream.bytes, TimeUnit.NANOSECONDS.toMillis(elapsed), baselineHeap / 1024 / 1024,
+                peakHeap.get() / 1024 / 1024);
+
+        Assertions.assertEquals(CATALOG_SIZE, exported);
+        Assertions.assertEquals(CATALOG_SIZE, outputStream.lines);
+        Assertions.assertTrue(peakHeap.get() - baselineHeap < MAX_LIVE_HEAP_GROWTH_BYTES);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductFilterBenchmarkTest {
+
+    public static final int CATALOG_SIZE = 200_000;
+    public static final int PAGE_SIZE = 20;
+    public static final int ITERATIONS = 200;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            rows.add(new Object[]{"Produto " + i, String.format("FLB%08d", i),
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2), random.nextInt(500)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                        + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE TABLE tb_produtos");
+    }
+
+    @AfterAll
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName(value = "Compara a latencia da busca filtrada por preco e quantidade com e sem os indices compostos")
+    void measureFilterLatencyWithAndWithoutIndexes() throws Exception {
+
+        measureAll("aquecimento");
+        measureAll("com_indices");
+
+        jdbcTemplate.execute("DROP INDEX ix_tb_produtos_price_quantity_id");
+        jdbcTemplate.execute("DROP INDEX ix_tb_produtos_price_desc_quantity_id");
+        jdbcTemplate.execute("DROP INDEX ix_tb_produtos_quantity_price_id");
+        try {
+            measureAll("sem_indices");
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX ix_tb_produtos_price_quantity_id ON tb_produtos (price, quantity, id)");
+            jdbcTemplate.execute("CREATE INDEX ix_tb_produtos_price_desc_quantity_id ON tb_produtos (price DESC, quantity, id)");
+            jdbcTemplate.execute("CREATE INDEX ix_tb_produtos_quantity_price_id ON tb_produtos (quantity, price, id)");
+        }
+    }
+
+    private void measureAll(String mode) throws Exception {
+        PageRequest firstPage = PageRequest.of(0, PAGE_SIZE);
+        PageRequest priceDescending = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price"));
+
+        report(mode, "faixa_preco", false, measure(i -> productService.findProductsByFilter(priceRange(i), firstPage, false)));
+        report(mode, "faixa_preco", true, measure(i -> productService.findProductsByFilter(priceRange(i), firstPage, true)));
+        report(mode, "faixa_quantidade", false, measure(i -> productService.findProductsByFilter(quantityRange(i), firstPage, false)));
+        report(mode, "faixa_quantidade", true, measure(i -> productService.findProductsByFilter(quantityRange(i), firstPage, true)));
+        report(mode, "em_estoque_preco_desc", false, measure(i -> productService.findProductsByFilter(inStock(i), priceDescending, false)));
+    }
+
+    private ProductFilterDTO priceRange(int i) {
+        BigDecimal minPrice = BigDecimal.valueOf(i % 9_900);
+        return ProductFilterDTO.builder()
+                .minPrice(minPrice)
+                .maxPrice(minPrice.add(BigDecimal.valueOf(100)))
+                .inStock(true)
+                .build();
+    }
+
+    private ProductFilterDTO quantityRange(int i) {
+        int minQuantity = i % 490;
+        return ProductFilterDTO.builder()
+                .minQuantity(minQuantity)
+                .maxQuantity(minQuantity + 5)
+                .build();
+    }
+
+    private ProductFilterDTO inStock(int i) {
+        return ProductFilterDTO.builder()
+                .maxPrice(BigDecimal.valueOf(10_000 - i % 1_000))
+                .inStock(true)
+                .build();
+    }
+
+    private long measure(Call call) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run(ITERATIONS + i);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private void report(String mode, String filter, boolean withTotal, long nanosPerCall) {
+        log.info("[benchmark] modo={} filtro={} com_total={} latencia_media_us={}", mode, filter, withTotal,
+                TimeUnit.NANOSECONDS.toMicros(nanosPerCall));
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run(int iteration) throws Exception;
+    }
+}
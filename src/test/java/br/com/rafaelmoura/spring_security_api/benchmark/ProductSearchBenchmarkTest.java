@@ -0,0 +1,91 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@Slf4j
+@Tag("benchmark")
+public class ProductSearchBenchmarkTest {
+
+    public static final int PRODUCTS = 1_000_000;
+    public static final int ITERATIONS = 20_000;
+    public static final int LIMIT = 10;
+    public static final String[] TYPES = {"Cabo", "Carregador", "Notebook", "Monitor", "Teclado", "Mouse", "Headset",
+            "Adaptador", "Webcam", "Roteador", "Impressora", "Memória", "Processador", "Gabinete", "Fonte", "Placa"};
+    public static final String[] BRANDS = {"Dell", "Lenovo", "Samsung", "LG", "Logitech", "Multilaser", "Intel",
+            "AMD", "Kingston", "TP-Link", "Positivo", "Acer", "Asus", "HP", "Philips", "Corsair"};
+    public static final String[] ATTRIBUTES = {"USB tipo C", "HDMI 2.1", "sem fio", "Bluetooth", "Gamer", "4K",
+            "16GB", "Turbo", "Slim", "Pro", "Max", "Mini", "Ultra", "Wi-Fi 6", "RGB", "Preto"};
+    public static final List<String> QUERIES = List.of("c", "ca", "not", "note dell", "monitor lg 4k", "usb c",
+            "mem king 16", "xz", "teclado gamer rgb", "m");
+
+    @Test
+    @DisplayName(value = "Mede a latencia da busca por prefixo no indice de nomes com 1 milhao de produtos")
+    void measurePrefixSearchLatency() {
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        ProductSearchIndex productSearchIndex = new ProductSearchIndex(mock(ProductRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+        Random random = new Random(42);
+        String[] serialNumbers = new String[PRODUCTS];
+        String[] products = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            serialNumbers[i] = "SKU" + (10_000_000 + i);
+            products[i] = TYPES[random.nextInt(TYPES.length)] + " " + BRANDS[random.nextInt(BRANDS.length)] + " "
+                    + ATTRIBUTES[random.nextInt(ATTRIBUTES.length)] + " M" + random.nextInt(100_000);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productSearchIndex.put(serialNumbers[i], products[i]);
+        }
+        products = null;
+        long indexingElapsed = System.nanoTime() - start;
+
+        System.gc();
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+        log.info("[benchmark] produtos={} indexacao_ms={} memoria_estimada_mb={}", productSearchIndex.size(),
+                TimeUnit.NANOSECONDS.toMillis(indexingElapsed), (usedAfter - usedBefore) / (1024 * 1024));
+
+        for (String query : QUERIES) {
+            for (int i = 0; i < ITERATIONS / 10; i++) {
+                productSearchIndex.search(query, LIMIT);
+            }
+
+            long[] latencies = new long[ITERATIONS];
+            int results = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long queryStart = System.nanoTime();
+                results = productSearchIndex.search(query, LIMIT).size();
+                latencies[i] = System.nanoTime() - queryStart;
+            }
+            Arrays.sort(latencies);
+
+            long p50 = latencies[ITERATIONS / 2];
+            long p99 = latencies[ITERATIONS * 99 / 100];
+            log.info("[benchmark] consulta=\"{}\" resultados={} p50_us={} p99_us={} max_us={}", query, results,
+                    TimeUnit.NANOSECONDS.toMicros(p50), TimeUnit.NANOSECONDS.toMicros(p99),
+                    TimeUnit.NANOSECONDS.toMicros(latencies[ITERATIONS - 1]));
+
+            Assertions.assertTrue(p50 < TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
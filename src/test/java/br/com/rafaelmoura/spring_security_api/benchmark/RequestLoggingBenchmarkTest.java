@@ -0,0 +1,138 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Slf4j
+@Tag("benchmark")
+public class RequestLoggingBenchmarkTest {
+
+    public static final int THREADS = 16;
+    public static final int REQUESTS_PER_THREAD = 20_000;
+    public static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName(value = "Compara a vazao do log por requisicao com appender sincrono, assincrono e fluxo em debug")
+    void measureRequestLoggingThroughput() throws Exception {
+
+        double synchronous = run("sincrono_fluxo_info", false, Level.INFO);
+        double asynchronous = run("assincrono_fluxo_info", true, Level.INFO);
+        double summaryOnly = run("assincrono_fluxo_debug", true, Level.DEBUG);
+
+        log.info("[benchmark] ganho_assincrono={} ganho_somente_resumo={}",
+                String.format("%.2fx", asynchronous / synchronous), String.format("%.2fx", summaryOnly / synchronous));
+
+        Assertions.assertTrue(summaryOnly > synchronous);
+    }
+
+    private double run(String mode, boolean async, Level flowLevel) throws Exception {
+        LoggerContext loggerContext = new LoggerContext();
+        loggerContext.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(tempDir.resolve(mode + ".log").toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.setImmediateFlush(true);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        Logger controllerLogger = loggerContext.getLogger("benchmark.ProductController");
+        Logger serviceLogger = loggerContext.getLogger("benchmark.ProductServiceImpl");
+        Logger summaryLogger = loggerContext.getLogger("benchmark.RequestSummaryLoggingFilter");
+        boolean flowAtDebug = flowLevel == Level.DEBUG;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    simulateRequest(controllerLogger, serviceLogger, summaryLogger, flowAtDebug, i);
+                }
+                return null;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        executorService.shutdown();
+        loggerContext.stop();
+
+        double requestsPerSecond = THREADS * (double) REQUESTS_PER_THREAD * 1_000_000_000L / elapsed;
+        log.info("[benchmark] modo={} threads={} requisicoes={} tempo_ms={} requisicoes_por_segundo={}", mode, THREADS,
+                THREADS * REQUESTS_PER_THREAD, TimeUnit.NANOSECONDS.toMillis(elapsed), (long) requestsPerSecond);
+        return requestsPerSecond;
+    }
+
+    private void simulateRequest(Logger controllerLogger, Logger serviceLogger, Logger summaryLogger,
+                                 boolean flowAtDebug, int i) {
+        String serialNumber = "AAASD" + i;
+        int quantity = i % 100;
+        BigDecimal price = BigDecimal.TEN;
+
+        if (flowAtDebug) {
+            controllerLogger.debug("Iniciando fluxo para inserir [{}] unidades do produto [{}] com serialNumber [{}]",
+                    quantity, "Cabo USB tipo C", serialNumber);
+            serviceLogger.debug("[{}] unidades do produto [{}] com serialNumber [{}] foram inseridas com sucesso na base. Estoque atual [{}]",
+                    quantity, "Cabo USB tipo C", serialNumber, price);
+            controllerLogger.debug("Finalizando fluxo para inserir o produto [{}] com serialNumber [{}]",
+                    "Cabo USB tipo C", serialNumber);
+        } else {
+            controllerLogger.info("Iniciando fluxo para inserir [{}] unidades do produto [{}] com serialNumber [{}]",
+                    quantity, "Cabo USB tipo C", serialNumber);
+            serviceLogger.info("[{}] unidades do produto [{}] com serialNumber [{}] foram inseridas com sucesso na base. Estoque atual [{}]",
+                    quantity, "Cabo USB tipo C", serialNumber, price);
+            controllerLogger.info("Finalizando fluxo para inserir o produto [{}] com serialNumber [{}]",
+                    "Cabo USB tipo C", serialNumber);
+        }
+        summaryLogger.info("Requisicao [{} {}] finalizada com status [{}] em [{}] ms", "POST", "/api/products/v1",
+                201, 1L);
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Tag("benchmark")
+public class ResponseFormatBenchmarkTest {
+
+    public static final int PAGE_SIZE = 1_000;
+    public static final int ITERATIONS = 2_000;
+
+    @Test
+    @DisplayName(value = "Compara tamanho do payload e tempo de serializacao de uma pagina de produtos em JSON e Smile, com e sem gzip")
+    void measurePayloadSizeAndSerializationTime() throws Exception {
+
+        PageableResponseDTO page = page();
+
+        Result json = run("json", new ObjectMapper(), page);
+        Result smile = run("smile", new ObjectMapper(new SmileFactory()), page);
+
+        log.info("[benchmark] reducao_smile={} reducao_json_gzip={} reducao_smile_gzip={}",
+                String.format("%.2fx", (double) json.bytes() / smile.bytes()),
+                String.format("%.2fx", (double) json.bytes() / json.gzipBytes()),
+                String.format("%.2fx", (double) json.bytes() / smile.gzipBytes()));
+
+        Assertions.assertTrue(smile.bytes() < json.bytes());
+        Assertions.assertTrue(json.gzipBytes() < json.bytes());
+    }
+
+    private Result run(String format, ObjectMapper objectMapper, PageableResponseDTO page) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(page);
+        byte[] gzipBody = gzip(body);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            gzip(objectMapper.writeValueAsBytes(page));
+            objectMapper.readValue(body, PageableResponseDTO.class);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        long serialization = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            gzip(body);
+        }
+        long compression = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.readValue(body, PageableResponseDTO.class);
+        }
+        long deserialization = (System.nanoTime() - start) / ITERATIONS;
+
+        log.info("[benchmark] formato={} produtos={} bytes={} bytes_gzip={} serializacao_us={} gzip_us={} leitura_us={}",
+                format, PAGE_SIZE, body.length, gzipBody.length, TimeUnit.NANOSECONDS.toMicros(serialization),
+                TimeUnit.NANOSECONDS.toMicros(compression), TimeUnit.NANOSECONDS.toMicros(deserialization));
+        return new Result(body.length, gzipBody.length);
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private PageableResponseDTO page() {
+        List<ProductResponseDTO> content = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> ProductResponseDTO.builder()
+                        .product("Notebook Dell Latitude 34" + (i % 100))
+                        .serialNumber(String.format("FMT%07d", i))
+                        .price(BigDecimal.valueOf(100_000 + i * 37L, 2))
+                        .quantity(i % 500)
+                        .build())
+                .toList();
+        return PageableResponseDTO.builder()
+                .content(content)
+                .pageNumber(0)
+                .totalPages(100)
+                .totalRecords(100_000L)
+                .firstPage(true)
+                .build();
+    }
+
+    private record Result(int bytes, int gzipBytes) {
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+public class StockAdjustmentContentionBenchmarkTest {
+
+    public static final String SERIAL_NUMBER = "BENCH000001";
+    public static final int OPERATIONS = 10_000;
+    public static final int WARMUP_OPERATIONS = 1_000;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productService.insertProduct(ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "{0} escritores concorrentes")
+    @ValueSource(ints = {1, 8, 64})
+    @DisplayName(value = "Mede a vazao do ajuste atomico de estoque de um unico serialNumber")
+    void measureStockAdjustmentThroughput(int writers) throws Exception {
+
+        runIncrements(writers, WARMUP_OPERATIONS);
+
+        long start = System.nanoTime();
+        runIncrements(writers, OPERATIONS);
+        long elapsed = System.nanoTime() - start;
+
+        log.info("[benchmark] escritores={} operacoes={} tempo_ms={} ops_por_segundo={}", writers, OPERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), OPERATIONS * 1_000_000_000L / elapsed);
+
+        Assertions.assertEquals(WARMUP_OPERATIONS + OPERATIONS,
+                productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+    }
+
+    private void runIncrements(int writers, int operations) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            futures.add(executorService.submit(() -> {
+                productService.adjustStockBySerialNumber(SERIAL_NUMBER, 1);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+    }
+}
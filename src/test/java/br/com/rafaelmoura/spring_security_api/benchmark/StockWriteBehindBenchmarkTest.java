@@ -0,0 +1,113 @@
+package br.com.rafaelmoura.spring_security_api.benchmark;
+
+import br.com.rafaelmoura.spring_security_api.config.StockWriteBehindProperties;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.repository.StockWriteBehindBuffer;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "products.stock.write-behind.enabled=true")
+public class StockWriteBehindBenchmarkTest {
+
+    public static final String SERIAL_NUMBER = "BENCH000002";
+    public static final int THREADS = 32;
+    public static final int RESTOCKS_PER_THREAD = 1_000;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    StockWriteBehindBuffer stockWriteBehindBuffer;
+    @Autowired
+    StockWriteBehindProperties stockWriteBehindProperties;
+
+    @BeforeEach
+    void setUp() {
+        productService.insertProduct(restock());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockWriteBehindProperties.setEnabled(true);
+        stockWriteBehindBuffer.drain();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName(value = "Compara a vazao da reposicao de um serialNumber concorrido com gravacao direta e com buffer de estoque")
+    void measureWriteBehindRestockThroughput() throws Exception {
+
+        stockWriteBehindProperties.setEnabled(false);
+        runRestocks(RESTOCKS_PER_THREAD / 10);
+        double direct = runRestocks(RESTOCKS_PER_THREAD, "direto");
+
+        stockWriteBehindProperties.setEnabled(true);
+        runRestocks(RESTOCKS_PER_THREAD / 10);
+        double buffered = runRestocks(RESTOCKS_PER_THREAD, "buffer");
+        stockWriteBehindBuffer.drain();
+
+        log.info("[benchmark] ganho_buffer={}", String.format("%.2fx", buffered / direct));
+
+        int expected = 1 + 2 * THREADS * (RESTOCKS_PER_THREAD + RESTOCKS_PER_THREAD / 10);
+        Assertions.assertEquals(expected, productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+        Assertions.assertTrue(buffered > direct);
+    }
+
+    private double runRestocks(int restocksPerThread, String mode) throws Exception {
+        long elapsed = runRestocks(restocksPerThread);
+        double restocksPerSecond = THREADS * (double) restocksPerThread * 1_000_000_000L / elapsed;
+        log.info("[benchmark] modo={} threads={} reposicoes={} tempo_ms={} reposicoes_por_segundo={}", mode, THREADS,
+                THREADS * restocksPerThread, TimeUnit.NANOSECONDS.toMillis(elapsed), (long) restocksPerSecond);
+        return restocksPerSecond;
+    }
+
+    private long runRestocks(int restocksPerThread) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < restocksPerThread; i++) {
+                    productService.insertProduct(restock());
+                }
+                return null;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+        return elapsed;
+    }
+
+    private ProductRequestDTO restock() {
+        return ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ProductCacheTest {
+
+    public static final String SERIAL_NUMBER = "AAASD93847";
+
+    ProductCacheProperties properties;
+    SimpleMeterRegistry meterRegistry;
+    ProductResponseDTO productResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductCacheProperties();
+        properties.getNotFound().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+
+        productResponseDto = ProductResponseDTO.builder()
+                .quantity(10)
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .product("Cabo USB tipo C")
+                .build();
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar o produto armazenado e contabilizar hit e miss")
+    void mustBeReturnCachedProductAndRecordStats() {
+
+        ProductCache productCache = new ProductCache(properties, meterRegistry);
+
+        Assertions.assertTrue(productCache.get(SERIAL_NUMBER).isEmpty());
+        productCache.put(productResponseDto);
+        Assertions.assertSame(productResponseDto, productCache.get(SERIAL_NUMBER).orElseThrow());
+
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", ProductCache.PRODUCTS_CACHE).tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", ProductCache.PRODUCTS_CACHE).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName(value = "Devera remover o produto e a marcacao de inexistente ao invalidar o serialNumber")
+    void mustBeEvictProductAndNotFoundMark() {
+
+        ProductCache productCache = new ProductCache(properties, meterRegistry);
+
+        productCache.markMissing(SERIAL_NUMBER);
+        Assertions.assertTrue(productCache.isKnownMissing(SERIAL_NUMBER));
+
+        productCache.put(productResponseDto);
+        Assertions.assertFalse(productCache.isKnownMissing(SERIAL_NUMBER));
+
+        productCache.evict(SERIAL_NUMBER);
+        Assertions.assertTrue(productCache.get(SERIAL_NUMBER).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter a versao mais recente do produto quando puts concorrentes chegarem fora de ordem")
+    void mustBeKeepNewestVersionUnderConcurrentStalePuts() throws Exception {
+
+        ProductCache productCache = new ProductCache(properties, meterRegistry);
+        int versions = 200;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int version = versions; version >= 1; version--) {
+            long currentVersion = version;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                productCache.put(ProductResponseDTO.builder()
+                        .serialNumber(SERIAL_NUMBER)
+                        .quantity((int) currentVersion)
+                        .id(1L)
+                        .version(currentVersion)
+                        .build());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(versions, productCache.get(SERIAL_NUMBER).orElseThrow().getVersion());
+        Assertions.assertEquals(versions, productCache.get(SERIAL_NUMBER).orElseThrow().getQuantity());
+
+        productCache.put(ProductResponseDTO.builder().serialNumber(SERIAL_NUMBER).id(1L).version(1L).build());
+        Assertions.assertEquals(versions, productCache.get(SERIAL_NUMBER).orElseThrow().getVersion());
+
+        productCache.put(ProductResponseDTO.builder().serialNumber(SERIAL_NUMBER).id(2L).version(0L).build());
+        Assertions.assertEquals(2L, productCache.get(SERIAL_NUMBER).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName(value = "Nao devera armazenar nada quando o cache estiver desabilitado")
+    void mustBeIgnoreCacheWhenDisabled() {
+
+        properties.setEnabled(false);
+        ProductCache productCache = new ProductCache(properties, meterRegistry);
+
+        productCache.put(productResponseDto);
+        productCache.markMissing("BBBSD93847");
+
+        Assertions.assertTrue(productCache.get(SERIAL_NUMBER).isEmpty());
+        Assertions.assertFalse(productCache.isKnownMissing("BBBSD93847"));
+    }
+
+    @Test
+    @DisplayName(value = "Devera somar reposicoes concorrentes ao produto em cache sem perder unidades avancando uma versao por reposicao")
+    void mustBeAddConcurrentRestocksToCachedProduct() throws Exception {
+
+        ProductCache productCache = new ProductCache(properties, meterRegistry);
+        productResponseDto.setId(1L);
+        productResponseDto.setVersion(3L);
+        productCache.put(productResponseDto);
+
+        int restocks = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(restocks);
+        List<Future<ProductResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < restocks; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return productCache.addQuantity(SERIAL_NUMBER, 1).orElseThrow();
+            }));
+        }
+        start.countDown();
+
+        Set<Integer> quantities = new HashSet<>();
+        Set<Long> versions = new HashSet<>();
+        for (Future<ProductResponseDTO> future : futures) {
+            ProductResponseDTO restockedProduct = future.get(5, TimeUnit.SECONDS);
+            quantities.add(restockedProduct.getQuantity());
+            versions.add(restockedProduct.getVersion());
+            Assertions.assertEquals(1L, restockedProduct.getId());
+            Assertions.assertEquals(restockedProduct.getQuantity() - 7L, restockedProduct.getVersion());
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(IntStream.rangeClosed(11, 20).boxed().collect(Collectors.toSet()), quantities);
+        Assertions.assertEquals(10, versions.size());
+        Assertions.assertEquals(20, productCache.get(SERIAL_NUMBER).orElseThrow().getQuantity());
+        Assertions.assertEquals(13L, productCache.get(SERIAL_NUMBER).orElseThrow().getVersion());
+        Assertions.assertTrue(productCache.addQuantity("BBBSD93847", 1).isEmpty());
+        Assertions.assertThrows(ArithmeticException.class, () -> productCache.addQuantity(SERIAL_NUMBER, Integer.MAX_VALUE));
+        Assertions.assertEquals(20, productCache.get(SERIAL_NUMBER).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class ProductCountCacheTest {
+
+    @Mock
+    ProductRepository productRepository;
+    @InjectMocks
+    ProductCountCache productCountCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName(value = "Devera consultar o total de produtos apenas uma vez enquanto o cache for valido")
+    void mustBeCountOnlyOnceWhileCacheIsValid() {
+
+        when(productRepository.count()).thenReturn(10L);
+
+        Assertions.assertEquals(10L, productCountCache.get());
+        Assertions.assertEquals(10L, productCountCache.get());
+
+        verify(productRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName(value = "Devera recalcular o total de produtos apos a invalidacao")
+    void mustBeRecountAfterInvalidate() {
+
+        when(productRepository.count()).thenReturn(10L, 11L);
+
+        Assertions.assertEquals(10L, productCountCache.get());
+        productCountCache.invalidate();
+        Assertions.assertEquals(11L, productCountCache.get());
+
+        verify(productRepository, times(2)).count();
+    }
+
+    @Test
+    @DisplayName(value = "Devera atualizar o total de produtos no refresh periodico")
+    void mustBeRefreshCount() {
+
+        when(productRepository.count()).thenReturn(10L, 12L);
+
+        Assertions.assertEquals(10L, productCountCache.get());
+        productCountCache.refresh();
+        Assertions.assertEquals(12L, productCountCache.get());
+    }
+
+    @Test
+    @DisplayName(value = "Devera executar uma unica contagem para buscas concorrentes apos a invalidacao")
+    void mustBeCountOnceForConcurrentMissesAfterInvalidate() throws Exception {
+
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch releaseCount = new CountDownLatch(1);
+        when(productRepository.count()).thenReturn(10L).thenAnswer(invocation -> {
+            countStarted.countDown();
+            releaseCount.await();
+            return 11L;
+        });
+
+        Assertions.assertEquals(10L, productCountCache.get());
+        productCountCache.invalidate();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> reload = executorService.submit(productCountCache::get);
+            Assertions.assertTrue(countStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(10L, productCountCache.get());
+            }
+
+            releaseCount.countDown();
+            Assertions.assertEquals(11L, reload.get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assertions.assertEquals(11L, productCountCache.get());
+        verify(productRepository, times(2)).count();
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.rafaelmoura.spring_security_api.cache;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProductLookupCoalescerTest {
+
+    public static final String SERIAL_NUMBER = "AAASD93847";
+
+    ProductCacheProperties properties;
+    SimpleMeterRegistry meterRegistry;
+    ProductResponseDTO productResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        productResponseDto = ProductResponseDTO.builder()
+                .serialNumber(SERIAL_NUMBER)
+                .product("Cabo USB tipo C")
+                .quantity(10)
+                .build();
+    }
+
+    @Test
+    @DisplayName(value = "Devera entregar o resultado da consulta em andamento a quem aguarda e contabilizar a busca compartilhada")
+    void mustBeShareInFlightLookupWithWaitingCaller() throws Exception {
+
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(properties, meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<Optional<ProductResponseDTO>> leader = executorService.submit(() -> coalescer.load(SERIAL_NUMBER, () -> {
+            queries.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return Optional.of(productResponseDto);
+        }));
+        leaderStarted.await();
+        Future<Optional<ProductResponseDTO>> follower = executorService.submit(() -> coalescer.load(SERIAL_NUMBER, () -> {
+            queries.incrementAndGet();
+            return Optional.empty();
+        }));
+        awaitWaitingLookups(1);
+        releaseLeader.countDown();
+
+        Assertions.assertSame(productResponseDto, leader.get(5, TimeUnit.SECONDS).orElseThrow());
+        Assertions.assertSame(productResponseDto, follower.get(5, TimeUnit.SECONDS).orElseThrow());
+        executorService.shutdown();
+
+        Assertions.assertEquals(1, queries.get());
+        Assertions.assertEquals(1.0, meterRegistry.get(ProductLookupCoalescer.COALESCED_COUNTER)
+                .tag("result", "shared").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get(ProductLookupCoalescer.IN_FLIGHT_GAUGE).gauge().value());
+        Assertions.assertEquals(0.0, meterRegistry.get(ProductLookupCoalescer.WAITING_GAUGE).gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera falhar sem consultar o banco quando a espera pela consulta em andamento exceder o limite")
+    void mustBeFailFastWithoutOwnLookupWhenWaitTimesOut() throws Exception {
+
+        properties.getCoalescing().setMaxWait(Duration.ofMillis(50));
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(properties, meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Optional<ProductResponseDTO>> leader = executorService.submit(() -> coalescer.load(SERIAL_NUMBER, () -> {
+            queries.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return Optional.of(productResponseDto);
+        }));
+        leaderStarted.await();
+
+        ProductLookupTimeoutException exception = Assertions.assertThrows(ProductLookupTimeoutException.class,
+                () -> coalescer.load(SERIAL_NUMBER, () -> {
+                    queries.incrementAndGet();
+                    return Optional.empty();
+                }));
+        releaseLeader.countDown();
+
+        Assertions.assertEquals(1, exception.getRetryAfterSeconds());
+        Assertions.assertTrue(leader.get(5, TimeUnit.SECONDS).isPresent());
+        executorService.shutdown();
+        Assertions.assertEquals(1, queries.get());
+        Assertions.assertEquals(1.0, meterRegistry.get(ProductLookupCoalescer.COALESCED_COUNTER)
+                .tag("result", "timeout").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get(ProductLookupCoalescer.WAITING_GAUGE).gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera liberar o serialNumber para novas consultas quando a consulta em andamento falhar")
+    void mustBeReleaseSerialNumberWhenLookupFails() throws ProductLookupTimeoutException {
+
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(properties, meterRegistry);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> coalescer.load(SERIAL_NUMBER, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        Assertions.assertSame(productResponseDto,
+                coalescer.load(SERIAL_NUMBER, () -> Optional.of(productResponseDto)).orElseThrow());
+    }
+
+    private void awaitWaitingLookups(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(ProductLookupCoalescer.WAITING_GAUGE).gauge().value() < expected) {
+            Assertions.assertTrue(System.nanoTime() < deadline);
+            Thread.yield();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
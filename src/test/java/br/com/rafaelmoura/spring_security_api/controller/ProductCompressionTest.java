@@ -0,0 +1,107 @@
+package br.com.rafaelmoura.spring_security_api.controller;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ProductCompressionTest {
+
+    public static final int PAGE_SIZE = 1_000;
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ObjectMapper objectMapper;
+    @MockBean
+    ProductService productService;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+    PageableResponseDTO pageableResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductResponseDTO> content = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> ProductResponseDTO.builder()
+                        .product("Notebook Dell Latitude " + i)
+                        .serialNumber(String.format("GZP%07d", i))
+                        .price(BigDecimal.valueOf(3049.44))
+                        .quantity(i)
+                        .version(1L)
+                        .id((long) i + 1)
+                        .build())
+                .toList();
+        pageableResponseDto = PageableResponseDTO.builder()
+                .content(content)
+                .pageNumber(0)
+                .firstPage(true)
+                .lastPage(false)
+                .build();
+    }
+
+    @Test
+    @DisplayName(value = "Devera comprimir a listagem com gzip quando o cliente aceitar a codificacao")
+    void mustBeCompressLargeListingWithGzip() throws Exception {
+
+        when(productService.findAllProducts(any(), anyBoolean())).thenReturn(pageableResponseDto);
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri("/api/products/v1?size=1000"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        Assertions.assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+        Assertions.assertTrue(response.body().length < json.length / 4);
+        PageableResponseDTO pageableResponseDTO = objectMapper.readValue(json, PageableResponseDTO.class);
+        Assertions.assertEquals(PAGE_SIZE, pageableResponseDTO.getContent().size());
+        Assertions.assertEquals("GZP0000999", pageableResponseDTO.getContent().get(PAGE_SIZE - 1).getSerialNumber());
+    }
+
+    @Test
+    @DisplayName(value = "Nao devera comprimir respostas menores que o tamanho minimo configurado")
+    void mustBeNotCompressSmallResponses() throws Exception {
+
+        when(productService.findProductBySerialNumber(anyString())).thenReturn(pageableResponseDto.getContent().get(0));
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri("/api/products/v1/GZP0000000"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        Assertions.assertEquals("GZP0000000",
+                objectMapper.readValue(response.body(), ProductResponseDTO.class).getSerialNumber());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
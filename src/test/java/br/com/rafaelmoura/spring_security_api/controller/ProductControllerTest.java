@@ -1,33 +1,61 @@
 package br.com.rafaelmoura.spring_security_api.controller;
 
+import br.com.rafaelmoura.spring_security_api.exceptions.BulkLimitExceededException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InsufficientStockException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidStockAdjustmentException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidFilterException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
 import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkItemResultDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
-import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.StockAdjustmentRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+import br.com.rafaelmoura.spring_security_api.service.ProductExportService;
 import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +69,8 @@ public class ProductControllerTest {
     ObjectMapper objectMapper;
     @MockBean
     ProductService productService;
+    @MockBean
+    ProductExportService productExportService;
     @InjectMocks
     ProductController productController;
 
@@ -64,10 +94,12 @@ public class ProductControllerTest {
                 .serialNumber("AAASD93847")
                 .price(BigDecimal.valueOf(23.44))
                 .product("Cabo USB tipo C")
+                .version(3L)
+                .id(1L)
                 .build();
 
         pageableResponseDto = PageableResponseDTO.builder()
-                .content(List.of(Product.builder()
+                .content(List.of(ProductResponseDTO.builder()
                         .quantity(10)
                         .serialNumber("AAASD93847")
                         .price(BigDecimal.valueOf(23.44))
@@ -85,7 +117,7 @@ public class ProductControllerTest {
     @DisplayName(value = "Deverá retornar uma lista de produtos cadastrados no sistema e status code 200")
     void mustBeReturnProductListAndStatusCode200() throws Exception {
 
-        when(productService.findAllProducts(any())).thenReturn(pageableResponseDto);
+        when(productService.findAllProducts(any(), anyBoolean())).thenReturn(pageableResponseDto);
 
         mockMvc.perform(get(URL_BASE.concat(API_VERSION))
                         .param("page", "1")
@@ -98,7 +130,7 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.content[0].product").value(pageableResponseDto.getContent().get(0).getProduct()))
                 .andDo(print());
 
-        verify(productService, times(1)).findAllProducts(any());
+        verify(productService, times(1)).findAllProducts(any(), eq(true));
     }
 
     @Test
@@ -136,6 +168,20 @@ public class ProductControllerTest {
         verify(productService, times(1)).findProductBySerialNumber(anyString());
     }
 
+    @Test
+    @DisplayName(value = "Deverá retornar status code 503 com Retry-After quando a busca em andamento do produto exceder o tempo de espera")
+    void mustBeReturnStatusCode503WhenLookupWaitTimesOut() throws Exception {
+
+        when(productService.findProductBySerialNumber(anyString()))
+                .thenThrow(new ProductLookupTimeoutException("Busca do produto demorou mais que o esperado, tente novamente em 2 segundo(s)", 2));
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/AAASD93847"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.code").value(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase()));
+    }
+
     @Test
     @DisplayName(value = "Deverá retornar um erro ao tentar localizar um produto e receber um erro interno com status code 500")
     void mustBeReturnSystemExceptionAndStatusCode500() throws Exception {
@@ -242,4 +288,378 @@ public class ProductControllerTest {
 
         verify(productService, times(1)).updateProductBySerialNumber(anyString(), any(ProductRequestDTO.class));
     }
+
+    @Test
+    @DisplayName(value = "Deverá ajustar o estoque de um produto sem retornar conteúdo e status code 204")
+    void mustBeAdjustStockAndReturnStatusCode204() throws Exception {
+
+        doNothing().when(productService).adjustStockBySerialNumber(anyString(), anyInt());
+
+        mockMvc.perform(patch(URL_BASE.concat(API_VERSION).concat("/AAASD93847/stock"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new StockAdjustmentRequestDTO(-2)))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+
+        verify(productService, times(1)).adjustStockBySerialNumber("AAASD93847", -2);
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar um erro ao remover do estoque mais unidades do que o disponível com status code 409")
+    void mustBeReturnInsufficientStockExceptionAndStatusCode409() throws Exception {
+
+        doThrow(new InsufficientStockException("Estoque insuficiente para o produto com o serialNumber informado"))
+                .when(productService).adjustStockBySerialNumber(anyString(), anyInt());
+
+        mockMvc.perform(patch(URL_BASE.concat(API_VERSION).concat("/AAASD93847/stock"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new StockAdjustmentRequestDTO(-50)))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value(HttpStatus.CONFLICT.getReasonPhrase()))
+                .andExpect(jsonPath("$.message").value("Estoque insuficiente para o produto com o serialNumber informado"))
+                .andDo(print());
+
+        verify(productService, times(1)).adjustStockBySerialNumber(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar um erro ao ajustar o estoque fora do limite permitido com status code 400")
+    void mustBeReturnInvalidStockAdjustmentExceptionAndStatusCode400() throws Exception {
+
+        doThrow(new InvalidStockAdjustmentException("Ajuste de estoque fora do limite permitido para o produto"))
+                .when(productService).adjustStockBySerialNumber(anyString(), anyInt());
+
+        mockMvc.perform(patch(URL_BASE.concat(API_VERSION).concat("/AAASD93847/stock"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new StockAdjustmentRequestDTO(Integer.MIN_VALUE)))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(HttpStatus.BAD_REQUEST.getReasonPhrase()))
+                .andExpect(jsonPath("$.message").value("Ajuste de estoque fora do limite permitido para o produto"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar uma página de produtos por cursor com o próximo cursor e status code 200")
+    void mustBeReturnCursorPageAndStatusCode200() throws Exception {
+
+        CursorPageResponseDTO cursorPageResponseDto = CursorPageResponseDTO.builder()
+                .content(List.of(productResponseDto))
+                .size(1)
+                .nextCursor("MTA")
+                .lastPage(false)
+                .build();
+
+        when(productService.findAllProductsAfterCursor(any(), anyInt())).thenReturn(cursorPageResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/scroll"))
+                        .param("cursor", "OQ")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].serialNumber").value(productResponseDto.getSerialNumber()))
+                .andExpect(jsonPath("$.nextCursor").value("MTA"))
+                .andExpect(jsonPath("$.lastPage").value(false))
+                .andDo(print());
+
+        verify(productService, times(1)).findAllProductsAfterCursor("OQ", 1);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a listagem em Smile quando o cliente negociar o formato binario")
+    void mustBeReturnProductListAsSmileWhenAccepted() throws Exception {
+
+        when(productService.findAllProducts(any(), anyBoolean())).thenReturn(pageableResponseDto);
+
+        MvcResult mvcResult = mockMvc.perform(get(URL_BASE.concat(API_VERSION))
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        PageableResponseDTO pageableResponseDTO = new ObjectMapper(new SmileFactory())
+                .readValue(mvcResult.getResponse().getContentAsByteArray(), PageableResponseDTO.class);
+
+        Assertions.assertEquals(pageableResponseDto, pageableResponseDTO);
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar uma lista de produtos sem totais quando withTotal for falso e status code 200")
+    void mustBeReturnProductListWithoutTotalsAndStatusCode200() throws Exception {
+
+        pageableResponseDto.setTotalPages(null);
+        pageableResponseDto.setTotalRecords(null);
+
+        when(productService.findAllProducts(any(), anyBoolean())).thenReturn(pageableResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION))
+                        .param("page", "1")
+                        .param("size", "10")
+                        .param("withTotal", "false")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].serialNumber").value(pageableResponseDto.getContent().get(0).getSerialNumber()))
+                .andExpect(jsonPath("$.totalRecords").isEmpty())
+                .andDo(print());
+
+        verify(productService, times(1)).findAllProducts(any(), eq(false));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá exportar o catálogo de produtos em NDJSON via streaming e status code 200")
+    void mustBeExportProductsAsNdjsonAndStatusCode200() throws Exception {
+
+        when(productExportService.exportProducts(any(OutputStream.class), eq(ExportFormat.NDJSON))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"serialNumber\":\"AAASD93847\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult mvcResult = mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/export")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"serialNumber\":\"AAASD93847\"}\n"))
+                .andDo(print());
+
+        verify(productExportService, times(1)).exportProducts(any(OutputStream.class), eq(ExportFormat.NDJSON));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá inserir produtos em lote a partir de um array JSON e status code 200")
+    void mustBeInsertProductsInBulkFromJsonArrayAndStatusCode200() throws Exception {
+
+        when(productService.insertProducts(anyList())).thenReturn(bulkInsertResponseDto());
+
+        mockMvc.perform(post(URL_BASE.concat(API_VERSION).concat("/bulk"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of(productRequestDto)))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andDo(print());
+
+        verify(productService, times(1)).insertProducts(anyList());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá inserir produtos em lote a partir de NDJSON e status code 200")
+    void mustBeInsertProductsInBulkFromNdjsonAndStatusCode200() throws Exception {
+
+        List<ProductRequestDTO> streamedItems = new ArrayList<>();
+        when(productService.insertProductsFromStream(any())).thenAnswer(invocation -> {
+            Iterator<ProductRequestDTO> items = invocation.getArgument(0);
+            items.forEachRemaining(streamedItems::add);
+            return bulkInsertResponseDto();
+        });
+
+        String ndjson = objectMapper.writeValueAsString(productRequestDto) + "\n"
+                + objectMapper.writeValueAsString(productRequestDto) + "\n";
+
+        mockMvc.perform(post(URL_BASE.concat(API_VERSION).concat("/bulk"))
+                        .contentType("application/x-ndjson")
+                        .content(ndjson)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedItems").value(2))
+                .andDo(print());
+
+        Assertions.assertEquals(2, streamedItems.size());
+        Assertions.assertEquals(productRequestDto.getSerialNumber(), streamedItems.get(0).getSerialNumber());
+        verify(productService, never()).insertProducts(anyList());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá rejeitar o lote NDJSON acima do limite com status code 413")
+    void mustBeRejectNdjsonBulkAboveLimitAndStatusCode413() throws Exception {
+
+        when(productService.insertProductsFromStream(any()))
+                .thenThrow(new BulkLimitExceededException("Quantidade de itens acima do limite permitido para insercao em lote"));
+
+        mockMvc.perform(post(URL_BASE.concat(API_VERSION).concat("/bulk"))
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(productRequestDto) + "\n")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isPayloadTooLarge())
+                .andDo(print());
+    }
+
+    private BulkInsertResponseDTO bulkInsertResponseDto() {
+        return BulkInsertResponseDTO.builder()
+                .receivedItems(2)
+                .created(1)
+                .results(List.of(BulkItemResultDTO.builder()
+                        .serialNumber("AAASD93847")
+                        .status(BulkItemStatus.CREATED)
+                        .quantity(23)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar o ETag derivado da versão do produto na busca por serialNumber")
+    void mustBeReturnProductETagDerivedFromVersion() throws Exception {
+
+        when(productService.findProductBySerialNumber(anyString())).thenReturn(productResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/AAASD93847")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        verify(productService, never()).findProductVersionBySerialNumber(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar status code 304 sem carregar o produto quando o If-None-Match corresponder à versão")
+    void mustBeReturnNotModifiedWhenIfNoneMatchMatchesVersion() throws Exception {
+
+        when(productService.findProductVersionBySerialNumber(anyString())).thenReturn(new ProductVersionDTO(1L, 3L));
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/AAASD93847"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).findProductBySerialNumber(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar o produto quando o If-None-Match não corresponder à versão atual")
+    void mustBeReturnProductWhenIfNoneMatchIsStale() throws Exception {
+
+        when(productService.findProductVersionBySerialNumber(anyString())).thenReturn(new ProductVersionDTO(1L, 3L));
+        when(productService.findProductBySerialNumber(anyString())).thenReturn(productResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/AAASD93847"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(jsonPath("$.serialNumber").value(productResponseDto.getSerialNumber()));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar status code 304 na listagem quando o If-None-Match corresponder ao ETag da página")
+    void mustBeReturnNotModifiedWhenListingETagMatches() throws Exception {
+
+        when(productService.findAllProducts(any(), anyBoolean())).thenReturn(pageableResponseDto);
+        String eTag = ProductServiceImplMapper.pageableResponseDTOToETag(pageableResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá atualizar o produto condicionalmente quando o If-Match for informado e retornar o novo ETag")
+    void mustBeUpdateProductConditionallyWhenIfMatchIsPresent() throws Exception {
+
+        productResponseDto.setVersion(4L);
+        when(productService.updateProductBySerialNumberIfVersionMatches(anyString(), anyLong(), anyLong(), any(ProductRequestDTO.class)))
+                .thenReturn(productResponseDto);
+
+        mockMvc.perform(put(URL_BASE.concat(API_VERSION).concat("/AAASD93847"))
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(productRequestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""));
+
+        verify(productService).updateProductBySerialNumberIfVersionMatches(eq("AAASD93847"), eq(1L), eq(3L),
+                any(ProductRequestDTO.class));
+        verify(productService, never()).updateProductBySerialNumber(anyString(), any(ProductRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá retornar status code 412 quando o If-Match não corresponder à versão atual do produto")
+    void mustBeReturnStatusCode412WhenIfMatchIsStale() throws Exception {
+
+        when(productService.updateProductBySerialNumberIfVersionMatches(anyString(), anyLong(), anyLong(), any(ProductRequestDTO.class)))
+                .thenThrow(new ProductVersionMismatchException("Versao informada nao corresponde a versao atual do produto"));
+
+        mockMvc.perform(put(URL_BASE.concat(API_VERSION).concat("/AAASD93847"))
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(productRequestDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(HttpStatus.PRECONDITION_FAILED.getReasonPhrase()));
+    }
+
+    @Test
+    @DisplayName(value = "Deverá buscar em lote e retornar os produtos localizados e os serialNumbers ausentes")
+    void mustBeLookupProductsBySerialNumbersAndReturnStatusCode200() throws Exception {
+
+        when(productService.findProductsBySerialNumbers(anyList())).thenReturn(ProductLookupResponseDTO.builder()
+                .products(Map.of("AAASD93847", productResponseDto))
+                .missingSerialNumbers(List.of("ZZZ0000001"))
+                .build());
+
+        mockMvc.perform(post(URL_BASE.concat(API_VERSION).concat("/lookup"))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of("AAASD93847", "ZZZ0000001"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.AAASD93847.product").value(productResponseDto.getProduct()))
+                .andExpect(jsonPath("$.missingSerialNumbers[0]").value("ZZZ0000001"));
+
+        verify(productService).findProductsBySerialNumbers(List.of("AAASD93847", "ZZZ0000001"));
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar produtos filtrados por preco e estoque e status code 200")
+    void mustBeReturnFilteredProductsAndStatusCode200() throws Exception {
+
+        ArgumentCaptor<ProductFilterDTO> filterCaptor = ArgumentCaptor.forClass(ProductFilterDTO.class);
+        when(productService.findProductsByFilter(filterCaptor.capture(), any(), eq(true))).thenReturn(pageableResponseDto);
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/filter"))
+                        .param("minPrice", "10.00")
+                        .param("maxPrice", "5000")
+                        .param("inStock", "true")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content[0].serialNumber").value(pageableResponseDto.getContent().get(0).getSerialNumber()));
+
+        Assertions.assertEquals(new BigDecimal("10.00"), filterCaptor.getValue().getMinPrice());
+        Assertions.assertEquals(new BigDecimal("5000"), filterCaptor.getValue().getMaxPrice());
+        Assertions.assertTrue(filterCaptor.getValue().isInStock());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar status code 400 quando o filtro for invalido")
+    void mustBeReturnStatusCode400WhenFilterIsInvalid() throws Exception {
+
+        when(productService.findProductsByFilter(any(), any(), anyBoolean()))
+                .thenThrow(new InvalidFilterException("Intervalo de filtro invalido"));
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/filter"))
+                        .param("minPrice", "10")
+                        .param("maxPrice", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Intervalo de filtro invalido"));
+    }
+
+    @Test
+    @DisplayName(value = "Devera buscar produtos pelo nome e retornar status code 200")
+    void mustBeSearchProductsByNameAndReturnStatusCode200() throws Exception {
+
+        when(productService.searchProductsByName("note", 5)).thenReturn(List.of(productResponseDto));
+
+        mockMvc.perform(get(URL_BASE.concat(API_VERSION).concat("/search"))
+                        .param("q", "note")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].product").value(productResponseDto.getProduct()));
+
+        verify(productService).searchProductsByName("note", 5);
+    }
 }
@@ -0,0 +1,85 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+
+@SpringBootTest(properties = {
+        "products.cache.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "products.datasource.replicas.enabled=true",
+        "products.datasource.replicas.nodes[0].url=" + ProductReplicaRoutingTest.REPLICA_URL,
+        "products.datasource.replicas.nodes[0].username=sa",
+        "products.datasource.replicas.nodes[0].password="
+})
+public class ProductReplicaRoutingTest {
+
+    public static final String REPLICA_URL = "jdbc:h2:mem:product_replica;DB_CLOSE_DELAY=-1";
+    public static final String REPLICA_ONLY_SERIAL = "RPL0000001";
+    public static final String PRIMARY_SERIAL = "RPL0000002";
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUpReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica().update("MERGE INTO tb_produtos (product, serial_number, price, quantity, version) KEY (serial_number) "
+                + "VALUES ('Produto na replica', ?, 10.00, 5, 0)", REPLICA_ONLY_SERIAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_produtos WHERE serial_number LIKE 'RPL%'");
+    }
+
+    @Test
+    @DisplayName(value = "Devera buscar o produto por serialNumber na replica")
+    void mustBeFindProductBySerialNumberOnReplica() throws Exception {
+
+        ProductResponseDTO productResponseDTO = productService.findProductBySerialNumber(REPLICA_ONLY_SERIAL);
+
+        Assertions.assertEquals("Produto na replica", productResponseDTO.getProduct());
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_produtos WHERE serial_number = ?", Integer.class, REPLICA_ONLY_SERIAL));
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar e reler o produto inserido no primario")
+    void mustBeInsertAndReadBackProductOnPrimary() {
+
+        ProductResponseDTO productResponseDTO = productService.insertProduct(ProductRequestDTO.builder()
+                .product("Produto no primario")
+                .serialNumber(PRIMARY_SERIAL)
+                .price(BigDecimal.TEN)
+                .quantity(3)
+                .build());
+
+        Assertions.assertEquals(3, productResponseDTO.getQuantity());
+        Assertions.assertThrows(ProductNotFoundException.class,
+                () -> productService.findProductBySerialNumber(PRIMARY_SERIAL));
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+
+@SpringBootTest(properties = {
+        "products.datasource.replicas.enabled=true",
+        "products.datasource.replicas.nodes[0].url=" + ProductReplicaSecondLevelCacheTest.REPLICA_URL,
+        "products.datasource.replicas.nodes[0].username=sa",
+        "products.datasource.replicas.nodes[0].password="
+})
+public class ProductReplicaSecondLevelCacheTest {
+
+    public static final String REPLICA_URL = "jdbc:h2:mem:product_replica_l2;DB_CLOSE_DELAY=-1";
+    public static final String SERIAL_NUMBER = "RLC0000001";
+    public static final String INSERT_PRODUCT_SQL = "INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+            + "VALUES (?, 'Produto replicado', ?, 10.00, 10)";
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void setUpReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR tb_produtos_seq", Long.class);
+        jdbcTemplate.update(INSERT_PRODUCT_SQL, id, SERIAL_NUMBER);
+        replica().update(INSERT_PRODUCT_SQL, id, SERIAL_NUMBER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_produtos WHERE serial_number LIKE 'RLC%'");
+        replica().update("DELETE FROM tb_produtos WHERE serial_number LIKE 'RLC%'");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName(value = "Devera nao armazenar nos caches o produto lido da replica defasada apos o ajuste de estoque")
+    void mustBeNotCacheLaggingReplicaReadAfterStockAdjustment() throws Exception {
+
+        Assertions.assertEquals(10, productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+
+        productService.adjustStockBySerialNumber(SERIAL_NUMBER, -4);
+
+        Assertions.assertEquals(10, productService.findProductBySerialNumber(SERIAL_NUMBER).getQuantity());
+        Assertions.assertEquals(6, productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+        Assertions.assertEquals(6, productService.findProductBySerialNumber(SERIAL_NUMBER).getQuantity());
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.rafaelmoura.spring_security_api.datasource;
+
+import br.com.rafaelmoura.spring_security_api.model.enums.ReplicaBalancing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ReplicaRoutingDataSourceTest {
+
+    public static final String SELECT_NODE = "SELECT name FROM node_info";
+
+    private final String suffix = UUID.randomUUID().toString().replace("-", "");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ReplicaRoutingDataSource> routingDataSources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        routingDataSources.forEach(ReplicaRoutingDataSource::close);
+    }
+
+    @Test
+    @DisplayName(value = "Devera enviar transacoes somente leitura para as replicas em rodizio")
+    void mustBeRouteReadOnlyTransactionsToReplicasInRoundRobin() {
+
+        JdbcTemplate jdbcTemplate = jdbcTemplate(routing(ReplicaBalancing.ROUND_ROBIN, node("a"), node("b")));
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(read(jdbcTemplate, true));
+        }
+
+        Assertions.assertEquals(List.of("a", "b", "a", "b"), nodes);
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter transacoes de escrita no primario")
+    void mustBeKeepReadWriteTransactionsOnPrimary() {
+
+        JdbcTemplate jdbcTemplate = jdbcTemplate(routing(ReplicaBalancing.ROUND_ROBIN, node("a"), node("b")));
+
+        Assertions.assertEquals("primary", read(jdbcTemplate, false));
+        Assertions.assertEquals("primary", jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+    }
+
+    @Test
+    @DisplayName(value = "Devera escolher a replica com menos conexoes ativas")
+    void mustBeSelectReplicaWithLeastActiveConnections() throws Exception {
+
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.LEAST_CONNECTIONS, node("a"), node("b"));
+
+        try (Connection first = routingDataSource.getConnection();
+             Connection second = routingDataSource.getConnection();
+             Connection third = routingDataSource.getConnection()) {
+            Assertions.assertNotEquals(nodeName(first), nodeName(second));
+            Assertions.assertNotNull(nodeName(third));
+        }
+        try (Connection busy = routingDataSource.getConnection()) {
+            String busyNode = nodeName(busy);
+            for (int i = 0; i < 3; i++) {
+                try (Connection connection = routingDataSource.getConnection()) {
+                    Assertions.assertNotEquals(busyNode, nodeName(connection));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName(value = "Devera remover do balanceamento a replica indisponivel")
+    void mustBeEjectUnavailableReplica() {
+
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.ROUND_ROBIN, node("a"),
+                "jdbc:h2:tcp://localhost:1/unavailable_" + suffix);
+        routingDataSource.checkHealth();
+        JdbcTemplate jdbcTemplate = jdbcTemplate(routingDataSource);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals("a", read(jdbcTemplate, true));
+        }
+        Assertions.assertEquals(0, meterRegistry.get(ReplicaRoutingDataSource.HEALTHY_GAUGE).tag("replica", "replica-1")
+                .gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera tentar a proxima replica sem remover do balanceamento a replica com o pool esgotado")
+    void mustBeTryNextReplicaWithoutEjectingSaturatedReplica() throws Exception {
+
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.ROUND_ROBIN, node("a"), node("b"));
+
+        try (Connection first = routingDataSource.getConnection();
+             Connection second = routingDataSource.getConnection();
+             Connection third = routingDataSource.getConnection()) {
+            Assertions.assertEquals(List.of("a", "b", "a"), List.of(nodeName(first), nodeName(second), nodeName(third)));
+            routingDataSource.getConnection().close();
+
+            try (Connection fallback = routingDataSource.getConnection()) {
+                Assertions.assertEquals("b", nodeName(fallback));
+            }
+        }
+
+        Assertions.assertEquals(1, meterRegistry.get(ReplicaRoutingDataSource.HEALTHY_GAUGE).tag("replica", "replica-0")
+                .gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(ReplicaRoutingDataSource.FALLBACK_COUNTER).counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "Devera falhar somente a leitura quando o pool de todas as replicas estiver esgotado")
+    void mustBeFailSingleReadWhenEveryReplicaPoolIsSaturated() throws Exception {
+
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.ROUND_ROBIN, node("a"));
+
+        try (Connection first = routingDataSource.getConnection();
+             Connection second = routingDataSource.getConnection()) {
+            Assertions.assertThrows(SQLTransientConnectionException.class, routingDataSource::getConnection);
+            routingDataSource.checkHealth();
+        }
+
+        try (Connection connection = routingDataSource.getConnection()) {
+            Assertions.assertEquals("a", nodeName(connection));
+        }
+        Assertions.assertEquals(1, meterRegistry.get(ReplicaRoutingDataSource.HEALTHY_GAUGE).tag("replica", "replica-0")
+                .gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(ReplicaRoutingDataSource.FALLBACK_COUNTER).counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "Devera remover a replica com atraso acima do tolerado e reintegra-la apos a recuperacao")
+    void mustBeEjectLaggingReplicaAndRestoreAfterRecovery() {
+
+        String lagging = node("a");
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.ROUND_ROBIN, lagging, node("b"));
+        JdbcTemplate jdbcTemplate = jdbcTemplate(routingDataSource);
+
+        new JdbcTemplate(new DriverManagerDataSource(lagging, "sa", "")).update("UPDATE replica_lag SET seconds = 12.5");
+        routingDataSource.checkHealth();
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals("b", read(jdbcTemplate, true));
+        }
+        Assertions.assertEquals(12.5, meterRegistry.get(ReplicaRoutingDataSource.LAG_GAUGE).tag("replica", "replica-0")
+                .gauge().value());
+
+        new JdbcTemplate(new DriverManagerDataSource(lagging, "sa", "")).update("UPDATE replica_lag SET seconds = 0.5");
+        routingDataSource.checkHealth();
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(read(jdbcTemplate, true));
+        }
+        Assertions.assertTrue(nodes.contains("a"));
+        Assertions.assertTrue(nodes.contains("b"));
+    }
+
+    @Test
+    @DisplayName(value = "Devera enviar leituras ao primario quando nenhuma replica estiver saudavel")
+    void mustBeFallbackToPrimaryWhenNoReplicaIsHealthy() {
+
+        String lagging = node("a");
+        ReplicaRoutingDataSource routingDataSource = routing(ReplicaBalancing.ROUND_ROBIN, lagging);
+        new JdbcTemplate(new DriverManagerDataSource(lagging, "sa", "")).update("UPDATE replica_lag SET seconds = 60");
+        routingDataSource.checkHealth();
+
+        Assertions.assertEquals("primary", read(jdbcTemplate(routingDataSource), true));
+        Assertions.assertEquals(1, meterRegistry.get(ReplicaRoutingDataSource.FALLBACK_COUNTER).counter().count());
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaBalancing balancing, String... urls) {
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setEnabled(true);
+        properties.setBalancing(balancing);
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        properties.setConnectionTimeout(Duration.ofMillis(500));
+        properties.setMaximumPoolSize(2);
+        for (String url : urls) {
+            ReplicaDataSourceProperties.Node node = new ReplicaDataSourceProperties.Node();
+            node.setUrl(url);
+            node.setUsername("sa");
+            node.setPassword("");
+            properties.getNodes().add(node);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource(node("primary"), "sa", ""), properties, meterRegistry);
+        routingDataSources.add(routingDataSource);
+        return routingDataSource;
+    }
+
+    private JdbcTemplate jdbcTemplate(ReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new DriverManagerDataSource(node("primary"), "sa", ""));
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private String read(JdbcTemplate jdbcTemplate, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+    }
+
+    private String nodeName(Connection connection) throws Exception {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(SELECT_NODE)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private String node(String name) {
+        String url = "jdbc:h2:mem:replica_routing_" + name + "_" + suffix + ";DB_CLOSE_DELAY=-1";
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node_info (name VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE PRECISION)");
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM node_info", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO node_info (name) VALUES (?)", name);
+            jdbcTemplate.update("INSERT INTO replica_lag (seconds) VALUES (0)");
+        }
+        return url;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.rafaelmoura.spring_security_api.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class GlobalExceptionHandlerTest {
+
+    public static final String MESSAGE = "Produto nao localizado com o serialNumber informado";
+
+    GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName(value = "Devera reutilizar a mesma resposta de produto nao localizado para falhas repetidas")
+    void mustBeReuseNotFoundResponseForRepeatedMisses() {
+
+        ResponseEntity<GenericException> first = globalExceptionHandler
+                .productNotFoundExceptionHandler(new ProductNotFoundException(MESSAGE));
+        ResponseEntity<GenericException> second = globalExceptionHandler
+                .productNotFoundExceptionHandler(new ProductNotFoundException(MESSAGE));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, first.getStatusCode());
+        Assertions.assertEquals(MESSAGE, first.getBody().getMessage());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND.getReasonPhrase(), first.getBody().getCode());
+        Assertions.assertEquals(0, first.getBody().getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName(value = "Devera responder servico indisponivel com Retry-After para requisicao rejeitada por sobrecarga")
+    void mustBeReturnServiceUnavailableWithRetryAfterForRejectedRequest() {
+
+        ResponseEntity<GenericException> response = globalExceptionHandler
+                .admissionRejectedExceptionHandler(new AdmissionRejectedException("Servico sobrecarregado", 2));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        Assertions.assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), response.getBody().getCode());
+    }
+}
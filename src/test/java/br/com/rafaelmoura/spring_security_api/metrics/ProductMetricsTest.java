@@ -0,0 +1,52 @@
+package br.com.rafaelmoura.spring_security_api.metrics;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ProductMetricsTest {
+
+    public static final String SERIAL_NUMBER = "METRICS0001";
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName(value = "Devera expor os timers por operacao, o contador de produtos nao localizados e as estatisticas do cache de segundo nivel no endpoint do Prometheus")
+    void mustBeExposeOperationTimersAndNotFoundCounter() throws Exception {
+
+        Assertions.assertThrows(ProductNotFoundException.class,
+                () -> productService.findProductBySerialNumber(SERIAL_NUMBER));
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertTrue(scrape.contains("products_operation_seconds_bucket{"));
+        Assertions.assertTrue(scrape.contains("operation=\"find_by_serial\""));
+        Assertions.assertTrue(scrape.contains("products_not_found_total{source=\"database\"}"));
+        Assertions.assertTrue(scrape.contains("spring_data_repository_invocations_seconds"));
+        Assertions.assertTrue(scrape.contains("hikaricp_connections_active"));
+        Assertions.assertTrue(scrape.contains("hibernate_second_level_cache_requests_total{"));
+        Assertions.assertTrue(scrape.contains("region=\"product\""));
+        Assertions.assertTrue(scrape.contains("hibernate_cache_natural_id_requests_total{"));
+        Assertions.assertTrue(scrape.contains("products_admission_limit{name=\"write\",scope=\"budget\"} 5.0"));
+        Assertions.assertTrue(scrape.contains("products_admission_inflight{name=\"read\",scope=\"budget\"}"));
+        Assertions.assertTrue(scrape.contains("products_admission_rejected_total{name=\"write\",scope=\"budget\"}"));
+    }
+}
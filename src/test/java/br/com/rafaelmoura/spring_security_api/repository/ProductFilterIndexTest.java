@@ -0,0 +1,142 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductFilterIndexTest {
+
+    public static final int CATALOG_SIZE = 2_000;
+    public static final BigDecimal BASE_PRICE = BigDecimal.valueOf(900_000);
+    public static final String SELECT_FILTERED = "SELECT p1_0.id, p1_0.price, p1_0.product, p1_0.quantity, "
+            + "p1_0.serial_number, p1_0.version FROM tb_produtos p1_0 ";
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            rows.add(new Object[]{"Produto filtro " + i, String.format("FLT%07d", i), BASE_PRICE.add(BigDecimal.valueOf(i)), i % 50});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_produtos (id, product, serial_number, price, quantity) "
+                        + "VALUES (NEXT VALUE FOR tb_produtos_seq, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE TABLE tb_produtos");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_produtos WHERE serial_number LIKE 'FLT%'");
+    }
+
+    @Test
+    @DisplayName(value = "Devera percorrer o indice de preco, quantidade e id na ordem da busca por faixa de preco")
+    void mustBeUsePriceQuantityIndexForPriceRange() {
+
+        String plan = explain(SELECT_FILTERED + "WHERE p1_0.price >= ? AND p1_0.price <= ? AND p1_0.quantity > ? "
+                + "ORDER BY p1_0.price, p1_0.quantity, p1_0.id FETCH FIRST 20 ROWS ONLY", BASE_PRICE, BASE_PRICE.add(BigDecimal.TEN), 0);
+
+        Assertions.assertTrue(plan.contains("IX_TB_PRODUTOS_PRICE_QUANTITY_ID"), plan);
+        Assertions.assertTrue(plan.contains("/* index sorted */"), plan);
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName(value = "Devera percorrer o indice de preco decrescente na ordem da busca do maior para o menor preco")
+    void mustBeUsePriceDescendingIndexForDescendingSort() {
+
+        String plan = explain(SELECT_FILTERED + "WHERE p1_0.price <= ? AND p1_0.quantity > ? "
+                + "ORDER BY p1_0.price DESC, p1_0.quantity, p1_0.id FETCH FIRST 20 ROWS ONLY", BASE_PRICE.add(BigDecimal.TEN), 0);
+
+        Assertions.assertTrue(plan.contains("IX_TB_PRODUTOS_PRICE_DESC_QUANTITY_ID"), plan);
+        Assertions.assertTrue(plan.contains("/* index sorted */"), plan);
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName(value = "Devera percorrer o indice de quantidade, preco e id na ordem da busca por faixa de quantidade")
+    void mustBeUseQuantityPriceIndexForQuantityRange() {
+
+        String plan = explain(SELECT_FILTERED + "WHERE p1_0.quantity >= ? AND p1_0.quantity <= ? "
+                + "ORDER BY p1_0.quantity, p1_0.price, p1_0.id FETCH FIRST 20 ROWS ONLY", 48, 49);
+
+        Assertions.assertTrue(plan.contains("IX_TB_PRODUTOS_QUANTITY_PRICE_ID"), plan);
+        Assertions.assertTrue(plan.contains("/* index sorted */"), plan);
+        Assertions.assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a mesma pagina filtrada com e sem o calculo de totais")
+    void mustBeReturnSamePageWithAndWithoutTotals() throws Exception {
+
+        ProductFilterDTO productFilterDTO = ProductFilterDTO.builder()
+                .minPrice(BASE_PRICE)
+                .maxPrice(BASE_PRICE.add(BigDecimal.valueOf(CATALOG_SIZE)))
+                .inStock(true)
+                .build();
+        PageRequest pageable = PageRequest.of(3, 25, Sort.by(Sort.Direction.DESC, "price"));
+
+        PageableResponseDTO withTotal = productService.findProductsByFilter(productFilterDTO, pageable, true);
+        PageableResponseDTO withoutTotal = productService.findProductsByFilter(productFilterDTO, pageable, false);
+
+        Assertions.assertEquals(CATALOG_SIZE - CATALOG_SIZE / 50, withTotal.getTotalRecords());
+        Assertions.assertEquals(serialNumbers(withTotal), serialNumbers(withoutTotal));
+        Assertions.assertEquals(25, withoutTotal.getContent().size());
+        Assertions.assertFalse(withoutTotal.isLastPage());
+        Assertions.assertTrue(withoutTotal.getContent().stream().allMatch(product -> product.getQuantity() > 0));
+    }
+
+    @Test
+    @DisplayName(value = "Devera paginar produtos de mesmo preco sem repetir nem omitir registros")
+    void mustBePageProductsWithEqualPricesWithoutRepeatsOrGaps() throws Exception {
+
+        ProductFilterDTO productFilterDTO = ProductFilterDTO.builder()
+                .minQuantity(7)
+                .maxQuantity(7)
+                .build();
+        List<String> expected = jdbcTemplate.queryForList("SELECT serial_number FROM tb_produtos "
+                + "WHERE serial_number LIKE 'FLT%' AND quantity = 7 ORDER BY id", String.class);
+        jdbcTemplate.update("UPDATE tb_produtos SET price = ? WHERE serial_number LIKE 'FLT%' AND quantity = 7", BASE_PRICE);
+
+        try {
+            List<String> pagedWithTotal = new ArrayList<>();
+            List<String> pagedWithoutTotal = new ArrayList<>();
+            for (int page = 0; page * 7 < expected.size(); page++) {
+                PageRequest pageable = PageRequest.of(page, 7, Sort.by("price"));
+                pagedWithTotal.addAll(serialNumbers(productService.findProductsByFilter(productFilterDTO, pageable, true)));
+                pagedWithoutTotal.addAll(serialNumbers(productService.findProductsByFilter(productFilterDTO, pageable, false)));
+            }
+
+            Assertions.assertEquals(expected, pagedWithTotal);
+            Assertions.assertEquals(expected, pagedWithoutTotal);
+        } finally {
+            jdbcTemplate.update("UPDATE tb_produtos SET price = ? + CAST(SUBSTRING(serial_number, 4) AS INT) "
+                    + "WHERE serial_number LIKE 'FLT%' AND quantity = 7", BASE_PRICE);
+        }
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    private List<String> serialNumbers(PageableResponseDTO pageableResponseDTO) {
+        return pageableResponseDTO.getContent().stream().map(ProductResponseDTO::getSerialNumber).toList();
+    }
+}
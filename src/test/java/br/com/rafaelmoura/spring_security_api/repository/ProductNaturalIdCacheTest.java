@@ -0,0 +1,154 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
+import br.com.rafaelmoura.spring_security_api.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+@SpringBootTest
+public class ProductNaturalIdCacheTest {
+
+    public static final String SERIAL_NUMBER = "NID0000001";
+    public static final String NEW_SERIAL_NUMBER = "NID0000002";
+    public static final String OTHER_SERIAL_NUMBER = "NID0000003";
+
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    ProductService productService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jdbcTemplate.update("INSERT INTO tb_produtos (product, serial_number, price, quantity) VALUES (?, ?, ?, ?)",
+                "Monitor LG 27", SERIAL_NUMBER, BigDecimal.valueOf(1500), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tb_produtos WHERE serial_number LIKE 'NID%'");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName(value = "Devera resolver o serialNumber pelo cache de segundo nivel sem consultar o banco")
+    void mustBeResolveSerialNumberFromSecondLevelCacheWithoutQuery() {
+
+        Assertions.assertTrue(productRepository.findBySerialNumber(SERIAL_NUMBER).isPresent());
+
+        long statements = statistics.getPrepareStatementCount();
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("Monitor LG 27", productRepository.findBySerialNumber(SERIAL_NUMBER)
+                    .orElseThrow().getProduct());
+        }
+
+        Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(naturalIdHits + 5, statistics.getNaturalIdCacheHitCount());
+        Assertions.assertEquals(entityHits + 5, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName(value = "Devera refletir a atualizacao do produto, inclusive a troca de serialNumber, apos o cache")
+    void mustBeReflectUpdateAfterCachingProduct() throws Exception {
+
+        productRepository.findBySerialNumber(SERIAL_NUMBER);
+
+        productService.updateProductBySerialNumber(SERIAL_NUMBER, ProductRequestDTO.builder()
+                .product("Monitor LG 32")
+                .serialNumber(NEW_SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(2500))
+                .quantity(10)
+                .build());
+
+        Assertions.assertTrue(productRepository.findBySerialNumber(SERIAL_NUMBER).isEmpty());
+        Assertions.assertEquals("Monitor LG 32", productRepository.findBySerialNumber(NEW_SERIAL_NUMBER)
+                .orElseThrow().getProduct());
+    }
+
+    @Test
+    @DisplayName(value = "Devera refletir o ajuste de estoque em massa apos o cache")
+    void mustBeReflectBulkStockAdjustmentAfterCachingProduct() throws Exception {
+
+        productRepository.findBySerialNumber(SERIAL_NUMBER);
+
+        productService.adjustStockBySerialNumber(SERIAL_NUMBER, -4);
+
+        Assertions.assertEquals(6, productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter no cache os demais produtos apos o ajuste de estoque de um produto")
+    void mustBeKeepOtherProductsCachedAfterStockAdjustment() throws Exception {
+
+        jdbcTemplate.update("INSERT INTO tb_produtos (product, serial_number, price, quantity) VALUES (?, ?, ?, ?)",
+                "Monitor Dell 24", OTHER_SERIAL_NUMBER, BigDecimal.valueOf(900), 5);
+        productRepository.findBySerialNumber(SERIAL_NUMBER);
+        productRepository.findBySerialNumber(OTHER_SERIAL_NUMBER);
+
+        productService.adjustStockBySerialNumber(SERIAL_NUMBER, 3);
+        productService.insertProduct(ProductRequestDTO.builder()
+                .product("Monitor LG 27")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(1500))
+                .quantity(2)
+                .build());
+
+        long statements = statistics.getPrepareStatementCount();
+        Assertions.assertEquals(5, productRepository.findBySerialNumber(OTHER_SERIAL_NUMBER).orElseThrow().getQuantity());
+        Assertions.assertEquals(statements, statistics.getPrepareStatementCount());
+
+        Assertions.assertEquals(15, productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName(value = "Devera refletir a atualizacao condicional com troca de serialNumber apos o cache")
+    void mustBeReflectConditionalUpdateAfterCachingProduct() throws Exception {
+
+        productRepository.findBySerialNumber(SERIAL_NUMBER);
+        ProductVersionDTO productVersionDTO = productService.findProductVersionBySerialNumber(SERIAL_NUMBER);
+
+        productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, productVersionDTO.getId(),
+                productVersionDTO.getVersion(), ProductRequestDTO.builder()
+                        .product("Monitor LG 32")
+                        .serialNumber(NEW_SERIAL_NUMBER)
+                        .price(BigDecimal.valueOf(2500))
+                        .quantity(10)
+                        .build());
+
+        Assertions.assertTrue(productRepository.findBySerialNumber(SERIAL_NUMBER).isEmpty());
+        Assertions.assertEquals("Monitor LG 32", productRepository.findBySerialNumber(NEW_SERIAL_NUMBER)
+                .orElseThrow().getProduct());
+    }
+
+    @Test
+    @DisplayName(value = "Devera deixar de localizar o produto removido apos o cache")
+    void mustBeEvictDeletedProductFromCache() throws Exception {
+
+        productRepository.findBySerialNumber(SERIAL_NUMBER);
+
+        productService.deleteProductBySerialNumber(SERIAL_NUMBER);
+
+        Assertions.assertTrue(productRepository.findBySerialNumber(SERIAL_NUMBER).isEmpty());
+    }
+}
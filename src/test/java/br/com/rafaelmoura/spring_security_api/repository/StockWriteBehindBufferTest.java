@@ -0,0 +1,182 @@
+package br.com.rafaelmoura.spring_security_api.repository;
+
+import br.com.rafaelmoura.spring_security_api.cache.ProductCache;
+import br.com.rafaelmoura.spring_security_api.config.StockWriteBehindProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class StockWriteBehindBufferTest {
+
+    public static final String SERIAL_NUMBER = "AAASD93847";
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    ProductCache productCache;
+    @Mock
+    ProductRepository productRepository;
+
+    StockWriteBehindProperties properties;
+    SimpleMeterRegistry meterRegistry;
+    Map<String, Long> writtenQuantities;
+    Map<String, Long> writtenVersions;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new StockWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setMaxPendingEvents(Long.MAX_VALUE);
+        meterRegistry = new SimpleMeterRegistry();
+        writtenQuantities = new ConcurrentHashMap<>();
+        writtenVersions = new ConcurrentHashMap<>();
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> recordBatch(invocation.getArgument(1)));
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar todos os ajustes concorrentes sem perdas enquanto o buffer e descarregado")
+    void mustBeFlushEveryConcurrentAdjustmentWithoutLosses() throws Exception {
+
+        StockWriteBehindBuffer buffer = newBuffer();
+        int threads = 16;
+        int adjustmentsPerThread = 20_000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String serialNumber = t % 2 == 0 ? SERIAL_NUMBER : "BBBSD" + t;
+            producers.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < adjustmentsPerThread; i++) {
+                    buffer.add(serialNumber, 1);
+                }
+                return null;
+            }));
+        }
+        Future<?> flusher = executorService.submit(() -> {
+            start.await();
+            while (producers.stream().anyMatch(producer -> !producer.isDone())) {
+                buffer.flush();
+            }
+            return null;
+        });
+
+        start.countDown();
+        for (Future<?> producer : producers) {
+            producer.get(1, TimeUnit.MINUTES);
+        }
+        flusher.get(1, TimeUnit.MINUTES);
+        buffer.drain();
+        executorService.shutdown();
+
+        Assertions.assertEquals((long) threads / 2 * adjustmentsPerThread, writtenQuantities.get(SERIAL_NUMBER));
+        Assertions.assertEquals((long) threads / 2 * adjustmentsPerThread, writtenVersions.get(SERIAL_NUMBER));
+        Assertions.assertEquals((long) threads * adjustmentsPerThread,
+                writtenQuantities.values().stream().mapToLong(Long::longValue).sum());
+        Assertions.assertEquals(0.0, meterRegistry.get(StockWriteBehindBuffer.PENDING_EVENTS_GAUGE).gauge().value());
+        Assertions.assertEquals((double) threads * adjustmentsPerThread,
+                meterRegistry.get(StockWriteBehindBuffer.FLUSHED_EVENTS_COUNTER).counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "Devera descarregar o buffer ao atingir o limite de ajustes pendentes")
+    void mustBeFlushWhenPendingEventsReachThreshold() {
+
+        properties.setMaxPendingEvents(3);
+        StockWriteBehindBuffer buffer = newBuffer();
+
+        buffer.add(SERIAL_NUMBER, 2);
+        buffer.add(SERIAL_NUMBER, 5);
+        verifyNoInteractions(jdbcTemplate);
+
+        buffer.add(SERIAL_NUMBER, -1);
+
+        Assertions.assertEquals(6L, writtenQuantities.get(SERIAL_NUMBER));
+        Assertions.assertEquals(3L, writtenVersions.get(SERIAL_NUMBER));
+        verify(productCache).evict(SERIAL_NUMBER);
+        verify(productRepository).evictSecondLevelCache(SERIAL_NUMBER);
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar somente os ajustes pendentes do serialNumber informado")
+    void mustBeFlushOnlyPendingAdjustmentsOfSerialNumber() {
+
+        StockWriteBehindBuffer buffer = newBuffer();
+        buffer.add(SERIAL_NUMBER, 2);
+        buffer.add(SERIAL_NUMBER, 3);
+        buffer.add("BBBSD93847", 7);
+
+        buffer.flush("CCCSD93847");
+        verifyNoInteractions(jdbcTemplate);
+
+        buffer.flush(SERIAL_NUMBER);
+
+        Assertions.assertEquals(Map.of(SERIAL_NUMBER, 5L), writtenQuantities);
+        Assertions.assertEquals(2L, writtenVersions.get(SERIAL_NUMBER));
+        Assertions.assertEquals(1.0, meterRegistry.get(StockWriteBehindBuffer.PENDING_EVENTS_GAUGE).gauge().value());
+        verify(productCache).evict(SERIAL_NUMBER);
+        verify(productCache, never()).evict("BBBSD93847");
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter os ajustes no buffer quando a gravacao no banco falhar")
+    void mustBeKeepAdjustmentsWhenFlushFails() {
+
+        StockWriteBehindBuffer buffer = newBuffer();
+        buffer.add(SERIAL_NUMBER, 4);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponivel"))
+                .thenAnswer(invocation -> recordBatch(invocation.getArgument(1)));
+
+        buffer.flush();
+
+        Assertions.assertTrue(writtenQuantities.isEmpty());
+        Assertions.assertEquals(1.0, meterRegistry.get(StockWriteBehindBuffer.PENDING_EVENTS_GAUGE).gauge().value());
+        verifyNoInteractions(productCache);
+
+        buffer.add(SERIAL_NUMBER, 1);
+        buffer.flush();
+
+        Assertions.assertEquals(5L, writtenQuantities.get(SERIAL_NUMBER));
+        Assertions.assertEquals(0.0, meterRegistry.get(StockWriteBehindBuffer.PENDING_EVENTS_GAUGE).gauge().value());
+    }
+
+    private StockWriteBehindBuffer newBuffer() {
+        return new StockWriteBehindBuffer(properties, jdbcTemplate, new TransactionTemplate(transactionManager),
+                productCache, productRepository, meterRegistry);
+    }
+
+    private int[] recordBatch(List<Object[]> batchArgs) {
+        batchArgs.forEach(args -> {
+            writtenQuantities.merge((String) args[2], (Long) args[0], Long::sum);
+            writtenVersions.merge((String) args[2], (Long) args[1], Long::sum);
+        });
+        int[] updatedRows = new int[batchArgs.size()];
+        Arrays.fill(updatedRows, 1);
+        return updatedRows;
+    }
+}
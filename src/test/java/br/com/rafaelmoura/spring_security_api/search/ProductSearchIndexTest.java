@@ -0,0 +1,148 @@
+package br.com.rafaelmoura.spring_security_api.search;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+
+public class ProductSearchIndexTest {
+
+    @Mock
+    ProductRepository productRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry;
+    ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        productSearchIndex = new ProductSearchIndex(productRepository, new TransactionTemplate(transactionManager),
+                meterRegistry);
+
+        productSearchIndex.put("A", "Cabo USB tipo C");
+        productSearchIndex.put("B", "Cabo HDMI 2.1");
+        productSearchIndex.put("C", "Carregador USB-C Turbo");
+        productSearchIndex.put("D", "Módulo de Memória 16GB");
+    }
+
+    @Test
+    @DisplayName(value = "Devera localizar produtos pelo prefixo de qualquer palavra do nome")
+    void mustBeFindProductsByWordPrefix() {
+
+        Assertions.assertEquals(Set.of("A", "B"), Set.copyOf(productSearchIndex.search("cab", 10)));
+        Assertions.assertEquals(Set.of("A", "C"), Set.copyOf(productSearchIndex.search("US", 10)));
+        Assertions.assertEquals(List.of("B"), productSearchIndex.search("hdmi", 10));
+        Assertions.assertTrue(productSearchIndex.search("abo", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Devera exigir que todas as palavras da busca correspondam ao nome do produto")
+    void mustBeRequireEveryQueryTokenToMatch() {
+
+        Assertions.assertEquals(List.of("A"), productSearchIndex.search("usb cab", 10));
+        Assertions.assertEquals(List.of("C"), productSearchIndex.search("usb-c tur", 10));
+        Assertions.assertTrue(productSearchIndex.search("cabo turbo", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Devera ignorar acentos e caixa na busca pelo nome")
+    void mustBeIgnoreAccentsAndCase() {
+
+        Assertions.assertEquals(List.of("D"), productSearchIndex.search("MODULO memo", 10));
+        Assertions.assertEquals(List.of("D"), productSearchIndex.search("memória", 10));
+    }
+
+    @Test
+    @DisplayName(value = "Devera respeitar o limite de resultados e ignorar buscas vazias")
+    void mustBeRespectLimitAndIgnoreBlankQueries() {
+
+        List<String> serialNumbers = productSearchIndex.search("c", 10);
+
+        Assertions.assertEquals(1, productSearchIndex.search("c", 1).size());
+        Assertions.assertEquals(3, serialNumbers.size());
+        Assertions.assertEquals(Set.of("A", "B", "C"), Set.copyOf(serialNumbers));
+        Assertions.assertTrue(productSearchIndex.search("  -  ", 10).isEmpty());
+        Assertions.assertTrue(productSearchIndex.search(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Devera refletir renomeacoes e remocoes de produtos no indice")
+    void mustBeReflectRenamesAndRemovals() {
+
+        productSearchIndex.put("A", "Adaptador Bluetooth");
+        productSearchIndex.remove("B");
+
+        Assertions.assertTrue(productSearchIndex.search("cabo", 10).isEmpty());
+        Assertions.assertEquals(List.of("A"), productSearchIndex.search("blue", 10));
+        Assertions.assertEquals(3, productSearchIndex.size());
+        Assertions.assertEquals(3.0, meterRegistry.get(ProductSearchIndex.INDEXED_PRODUCTS_GAUGE).gauge().value());
+    }
+
+    @Test
+    @DisplayName(value = "Devera reconstruir o indice a partir dos produtos gravados no banco")
+    void mustBeRebuildIndexFromDatabase() {
+
+        when(productRepository.streamAllProjectedBy()).thenReturn(Stream.of(
+                ProductResponseDTO.builder().serialNumber("E").product("Teclado Mecanico").build(),
+                ProductResponseDTO.builder().serialNumber("F").product("Mouse sem fio").build()));
+
+        productSearchIndex.rebuild();
+
+        Assertions.assertEquals(List.of("E"), productSearchIndex.search("tec mec", 10));
+        Assertions.assertEquals(List.of("F"), productSearchIndex.search("fio", 10));
+        Assertions.assertEquals(6, productSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName(value = "Devera combinar palavras frequentes pelos bitsets do indice com o mesmo resultado da busca sequencial")
+    void mustBeIntersectDensePostingsConsistently() {
+
+        Map<String, String> products = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String product = (i % 2 == 0 ? "Teclado" : "Mouse") + " " + (i % 3 == 0 ? "Gamer" : "Office") + " "
+                    + (i % 5 == 0 ? "RGB" : "Preto");
+            products.put("SKU" + i, product);
+            productSearchIndex.put("SKU" + i, product);
+        }
+        for (int i = 0; i < 10_000; i += 7) {
+            productSearchIndex.remove("SKU" + i);
+            products.remove("SKU" + i);
+        }
+        productSearchIndex.put("SKU1", "Teclado Office Preto");
+        products.put("SKU1", "Teclado Office Preto");
+
+        Assertions.assertEquals(expected(products, "teclado", "office", "preto"),
+                Set.copyOf(productSearchIndex.search("teclado office preto", 10_000)));
+        Assertions.assertEquals(expected(products, "teclado", "gamer", "rgb"),
+                Set.copyOf(productSearchIndex.search("tec gamer rgb", 10_000)));
+        Assertions.assertEquals(10, productSearchIndex.search("mouse office", 10).size());
+        Assertions.assertTrue(productSearchIndex.search("mouse teclado", 10).isEmpty());
+    }
+
+    private static Set<String> expected(Map<String, String> products, String... words) {
+        return products.entrySet().stream()
+                .filter(entry -> Arrays.stream(words).allMatch(word -> entry.getValue().toLowerCase().contains(word)))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.rafaelmoura.spring_security_api.service;
+
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.enums.ExportFormat;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.impl.ProductExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class ProductExportServiceImplTest {
+
+    @Mock
+    ProductRepository productRepository;
+
+    ProductExportServiceImpl productExportService;
+    ProductResponseDTO firstProduct;
+    ProductResponseDTO secondProduct;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productExportService = new ProductExportServiceImpl(productRepository, new ObjectMapper());
+
+        firstProduct = ProductResponseDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber("AAASD93847")
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(10)
+                .build();
+
+        secondProduct = ProductResponseDTO.builder()
+                .product("Monitor 27\", 4K")
+                .serialNumber("AAASD93848")
+                .price(BigDecimal.valueOf(1999.90))
+                .quantity(2)
+                .build();
+    }
+
+    @Test
+    @DisplayName(value = "Devera exportar os produtos em NDJSON com um objeto por linha")
+    void mustBeExportProductsAsNdjson() throws IOException {
+
+        when(productRepository.streamAllProjectedBy()).thenReturn(Stream.of(firstProduct, secondProduct));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = productExportService.exportProducts(outputStream, ExportFormat.NDJSON);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        Assertions.assertEquals(2, exported);
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals("{\"product\":\"Cabo USB tipo C\",\"serialNumber\":\"AAASD93847\",\"price\":23.44,\"quantity\":10}",
+                lines[0]);
+        Assertions.assertEquals(secondProduct, new ObjectMapper().readValue(lines[1], ProductResponseDTO.class));
+    }
+
+    @Test
+    @DisplayName(value = "Devera exportar os produtos em CSV com cabecalho e campos escapados")
+    void mustBeExportProductsAsCsv() throws IOException {
+
+        when(productRepository.streamAllProjectedBy()).thenReturn(Stream.of(firstProduct, secondProduct));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = productExportService.exportProducts(outputStream, ExportFormat.CSV);
+
+        Assertions.assertEquals(2, exported);
+        Assertions.assertEquals("""
+                product,serialNumber,price,quantity
+                Cabo USB tipo C,AAASD93847,23.44,10
+                "Monitor 27"", 4K",AAASD93848,1999.9,2
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+}
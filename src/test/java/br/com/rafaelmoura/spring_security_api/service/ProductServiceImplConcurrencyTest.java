@@ -0,0 +1,180 @@
+package br.com.rafaelmoura.spring_security_api.service;
+
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
+import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SpringBootTest
+public class ProductServiceImplConcurrencyTest {
+
+    public static final String SERIAL_NUMBER = "CONC0000001";
+    public static final int RESTOCKS = 2000;
+    public static final int THREADS = 32;
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName(value = "Devera manter o estoque consistente com milhares de reposicoes concorrentes do mesmo serialNumber")
+    void mustBeKeepStockConsistentUnderConcurrentRestocks() throws Exception {
+
+        ProductRequestDTO productRequestDto = ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(3)
+                .build();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < RESTOCKS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return productService.insertProduct(productRequestDto);
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        List<Product> products = productRepository.findAll();
+
+        Assertions.assertEquals(1, products.size());
+        Assertions.assertEquals(RESTOCKS * productRequestDto.getQuantity(), products.get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName(value = "Devera aceitar somente uma das atualizacoes concorrentes feitas sobre a mesma versao")
+    void mustBeAcceptOnlyOneConcurrentUpdateOverSameVersion() throws Exception {
+
+        ProductResponseDTO created = productService.insertProduct(ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(3)
+                .build());
+
+        ProductRequestDTO firstUpdate = ProductRequestDTO.builder()
+                .product("Cabo USB tipo C 2m")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(29.90))
+                .build();
+        ProductRequestDTO secondUpdate = ProductRequestDTO.builder()
+                .product("Cabo USB tipo C 3m")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(34.90))
+                .build();
+
+        ProductResponseDTO updated = productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER,
+                created.getId(), created.getVersion(), firstUpdate);
+
+        Assertions.assertThrows(ProductVersionMismatchException.class,
+                () -> productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, created.getId(),
+                        created.getVersion(), secondUpdate));
+
+        Product product = productRepository.findBySerialNumber(SERIAL_NUMBER).orElseThrow();
+        Assertions.assertEquals(created.getVersion() + 1, updated.getVersion());
+        Assertions.assertEquals("Cabo USB tipo C 2m", product.getProduct());
+        Assertions.assertEquals(3, product.getQuantity());
+        Assertions.assertEquals(updated.getVersion(), productService.findProductBySerialNumber(SERIAL_NUMBER).getVersion());
+    }
+
+    @Test
+    @DisplayName(value = "Devera responder a atualizacao condicional com a versao gravada mesmo com reposicoes concorrentes")
+    void mustBeRespondConditionalUpdateWithWrittenVersionUnderConcurrentRestocks() throws Exception {
+
+        ProductRequestDTO productRequestDTO = ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(3)
+                .build();
+        productService.insertProduct(productRequestDTO);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executorService.submit(() -> {
+                while (running.get()) {
+                    productService.adjustStockBySerialNumber(SERIAL_NUMBER, 1);
+                }
+                return null;
+            }));
+        }
+
+        int accepted = 0;
+        try {
+            for (int i = 0; i < 200; i++) {
+                ProductVersionDTO current = productRepository.findVersionBySerialNumber(SERIAL_NUMBER).orElseThrow();
+                try {
+                    ProductResponseDTO updated = productService.updateProductBySerialNumberIfVersionMatches(
+                            SERIAL_NUMBER, current.getId(), current.getVersion(), productRequestDTO);
+                    Assertions.assertEquals(current.getVersion() + 1, updated.getVersion());
+                    accepted++;
+                } catch (ProductVersionMismatchException ex) {
+                    Assertions.assertNotNull(ex.getMessage());
+                }
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executorService.shutdown();
+        }
+
+        Assertions.assertTrue(accepted > 0);
+    }
+
+    @Test
+    @DisplayName(value = "Devera rejeitar a versao de um produto removido apos recriar o mesmo serialNumber")
+    void mustBeRejectVersionOfDeletedProductAfterRecreation() throws Exception {
+
+        ProductRequestDTO productRequestDTO = ProductRequestDTO.builder()
+                .product("Cabo USB tipo C")
+                .serialNumber(SERIAL_NUMBER)
+                .price(BigDecimal.valueOf(23.44))
+                .quantity(3)
+                .build();
+
+        ProductResponseDTO deleted = productService.insertProduct(productRequestDTO);
+        productService.deleteProductBySerialNumber(SERIAL_NUMBER);
+        ProductResponseDTO recreated = productService.insertProduct(productRequestDTO);
+
+        Assertions.assertEquals(deleted.getVersion(), recreated.getVersion());
+        Assertions.assertNotEquals(ProductServiceImplMapper.versionToETag(deleted.getId(), deleted.getVersion()),
+                ProductServiceImplMapper.productVersionDTOToETag(productService.findProductVersionBySerialNumber(SERIAL_NUMBER)));
+        Assertions.assertThrows(ProductVersionMismatchException.class,
+                () -> productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, deleted.getId(),
+                        deleted.getVersion(), productRequestDTO));
+    }
+}
@@ -1,29 +1,74 @@
 package br.com.rafaelmoura.spring_security_api.service;
 
+import br.com.rafaelmoura.spring_security_api.cache.ProductCache;
+import br.com.rafaelmoura.spring_security_api.cache.ProductCacheProperties;
+import br.com.rafaelmoura.spring_security_api.cache.ProductCountCache;
+import br.com.rafaelmoura.spring_security_api.cache.ProductLookupCoalescer;
+import br.com.rafaelmoura.spring_security_api.config.ProductBulkProperties;
+import br.com.rafaelmoura.spring_security_api.config.ProductLookupProperties;
+import br.com.rafaelmoura.spring_security_api.config.ProductSearchProperties;
+import br.com.rafaelmoura.spring_security_api.datasource.ReplicaDataSourceProperties;
+import br.com.rafaelmoura.spring_security_api.exceptions.BulkLimitExceededException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InsufficientStockException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidCursorException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidFilterException;
+import br.com.rafaelmoura.spring_security_api.exceptions.InvalidStockAdjustmentException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductLookupTimeoutException;
 import br.com.rafaelmoura.spring_security_api.exceptions.ProductNotFoundException;
+import br.com.rafaelmoura.spring_security_api.exceptions.ProductVersionMismatchException;
+import br.com.rafaelmoura.spring_security_api.metrics.ProductMetrics;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkInsertResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.BulkItemResultDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.CursorPageResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.PageableResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductFilterDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductLookupResponseDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductRequestDTO;
 import br.com.rafaelmoura.spring_security_api.model.dto.ProductResponseDTO;
+import br.com.rafaelmoura.spring_security_api.model.dto.ProductVersionDTO;
 import br.com.rafaelmoura.spring_security_api.model.entity.Product;
+import br.com.rafaelmoura.spring_security_api.model.enums.BulkItemStatus;
+import br.com.rafaelmoura.spring_security_api.repository.ProductBatchWriter;
 import br.com.rafaelmoura.spring_security_api.repository.ProductRepository;
+import br.com.rafaelmoura.spring_security_api.repository.StockWriteBehindBuffer;
+import br.com.rafaelmoura.spring_security_api.search.ProductSearchIndex;
 import br.com.rafaelmoura.spring_security_api.service.impl.ProductServiceImpl;
+import br.com.rafaelmoura.spring_security_api.service.mapper.ProductServiceImplMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +77,30 @@ public class ProductServiceImplTest {
     public static final String SERIAL_NUMBER = "AAASD93847";
     @Mock
     ProductRepository productRepository;
+    @Mock
+    ProductCache productCache;
+    @Mock
+    ProductCountCache productCountCache;
+    @Mock
+    ProductBatchWriter productBatchWriter;
+    @Mock
+    ProductMetrics productMetrics;
+    @Mock
+    StockWriteBehindBuffer stockWriteBehindBuffer;
+    @Mock
+    ProductSearchIndex productSearchIndex;
+    @Spy
+    ProductBulkProperties productBulkProperties = new ProductBulkProperties();
+    @Spy
+    ProductLookupProperties productLookupProperties = new ProductLookupProperties();
+    @Spy
+    ProductSearchProperties productSearchProperties = new ProductSearchProperties();
+    @Spy
+    ReplicaDataSourceProperties replicaDataSourceProperties = new ReplicaDataSourceProperties();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    ProductLookupCoalescer productLookupCoalescer = new ProductLookupCoalescer(new ProductCacheProperties(),
+            meterRegistry);
     @InjectMocks
     ProductServiceImpl productService;
 
@@ -59,7 +128,7 @@ public class ProductServiceImplTest {
                 .build();
 
         pageableResponseDto = PageableResponseDTO.builder()
-                .content(List.of(Product.builder()
+                .content(List.of(ProductResponseDTO.builder()
                         .quantity(23)
                         .serialNumber(SERIAL_NUMBER)
                         .price(BigDecimal.valueOf(3049.44))
@@ -84,8 +153,9 @@ public class ProductServiceImplTest {
     @DisplayName(value = "Devera inserir um produto no banco de dados")
     void mustBeInsertNewProduct() {
 
-        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.empty());
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        product.setVersion(0L);
+        when(productRepository.upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt())).thenReturn(1);
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
 
         ProductResponseDTO response = productService.insertProduct(productRequestDto);
 
@@ -94,29 +164,29 @@ public class ProductServiceImplTest {
         Assertions.assertEquals(productResponseDto.getQuantity(), response.getQuantity());
         Assertions.assertEquals(productResponseDto.getPrice(), response.getPrice());
 
+        verify(productRepository, times(1)).upsertStock(SERIAL_NUMBER, productRequestDto.getProduct(),
+                productRequestDto.getPrice(), productRequestDto.getQuantity());
+        verify(productRepository, times(1)).evictSecondLevelCache(SERIAL_NUMBER);
         verify(productRepository, times(1)).findBySerialNumber(anyString());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productCountCache, times(1)).invalidate();
     }
 
     @Test
     @DisplayName(value = "Devera atualizar a quantidade em estoque um produto no banco de dados")
     void mustBeUpdateStockQuantityProduct() {
 
-        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(Product.builder()
-                .quantity(23)
-                .serialNumber(SERIAL_NUMBER)
-                .price(BigDecimal.valueOf(3049.44))
-                .product("Cabo USB tipo C")
-                .build()));
-
         Product responseProduct = Product.builder()
                 .quantity(46)
                 .serialNumber(SERIAL_NUMBER)
                 .price(BigDecimal.valueOf(3049.44))
                 .product("Cabo USB tipo C")
+                .version(1L)
                 .build();
 
-        when(productRepository.save(any(Product.class))).thenReturn(responseProduct);
+        when(productRepository.existsBySerialNumber(SERIAL_NUMBER)).thenReturn(true);
+        when(productRepository.upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt())).thenReturn(1);
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(responseProduct));
 
         ProductResponseDTO response = productService.insertProduct(productRequestDto);
 
@@ -125,13 +195,64 @@ public class ProductServiceImplTest {
         Assertions.assertEquals(productResponseDto.getQuantity() * 2, response.getQuantity());
         Assertions.assertEquals(productResponseDto.getPrice(), response.getPrice());
 
+        verify(productRepository, times(1)).upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt());
         verify(productRepository, times(1)).findBySerialNumber(anyString());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productSearchIndex).put(SERIAL_NUMBER, responseProduct.getProduct());
+        verify(productCountCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName(value = "Devera reaplicar o incremento de estoque quando o produto for inserido concorrentemente")
+    void mustBeRetryUpsertWhenConcurrentInsertViolatesUniqueIndex() {
+
+        when(productRepository.upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("ux_tb_produtos_serial_number"))
+                .thenReturn(1);
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+
+        ProductResponseDTO response = productService.insertProduct(productRequestDto);
+
+        Assertions.assertEquals(productResponseDto.getSerialNumber(), response.getSerialNumber());
+
+        verify(productRepository, times(2)).upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt());
+        verify(productRepository, times(1)).findBySerialNumber(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera invalidar a contagem quando o produto nao existia antes do upsert mesmo com versao maior que zero")
+    void mustBeInvalidateCountWhenProductDidNotExistBeforeUpsert() {
+
+        product.setVersion(1L);
+        when(productRepository.existsBySerialNumber(SERIAL_NUMBER)).thenReturn(false);
+        when(productRepository.upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt())).thenReturn(1);
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+
+        productService.insertProduct(productRequestDto);
+
+        verify(productRepository, times(1)).existsBySerialNumber(SERIAL_NUMBER);
+        verify(productCountCache, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName(value = "Devera invalidar a contagem quando o upsert for reaplicado por insercao concorrente")
+    void mustBeInvalidateCountWhenUpsertIsRetriedAfterConcurrentInsert() {
+
+        product.setVersion(1L);
+        when(productRepository.existsBySerialNumber(SERIAL_NUMBER)).thenReturn(true);
+        when(productRepository.upsertStock(anyString(), anyString(), any(BigDecimal.class), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("ux_tb_produtos_serial_number"))
+                .thenReturn(1);
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+
+        productService.insertProduct(productRequestDto);
+
+        verify(productCountCache, times(1)).invalidate();
     }
 
     @Test
     @DisplayName(value = "Devera buscar um produto pelo serialNumber")
-    void mustBeReturnProductBySerialNumberSuccess() throws ProductNotFoundException {
+    void mustBeReturnProductBySerialNumberSuccess() throws ProductNotFoundException, ProductLookupTimeoutException {
 
         when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
 
@@ -155,8 +276,10 @@ public class ProductServiceImplTest {
 
         Assertions.assertEquals(ProductNotFoundException.class, response.getClass());
         Assertions.assertEquals("Produto nao localizado com o serialNumber informado", response.getMessage());
+        Assertions.assertEquals(0, response.getStackTrace().length);
 
         verify(productRepository, times(1)).findBySerialNumber(anyString());
+        verify(productMetrics).notFound(ProductMetrics.SOURCE_DATABASE);
 
     }
 
@@ -207,20 +330,128 @@ public class ProductServiceImplTest {
     @DisplayName(value = "Devera retornar um Pageable com produtos com sucesso")
     void mustBeReturnPageProductResponseSuccess(){
 
-        Pageable pageable = PageRequest.of(1, 10);
-        Page<Product> productPage = new PageImpl<>(pageableResponseDto.getContent());
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<ProductResponseDTO> productSlice = new SliceImpl<>(pageableResponseDto.getContent(), pageable, false);
 
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
+        when(productRepository.findAllProjectedBy(any(Pageable.class))).thenReturn(productSlice);
+        when(productCountCache.get()).thenReturn(1L);
 
-        PageableResponseDTO pageableResponseDTO = productService.findAllProducts(pageable);
+        PageableResponseDTO pageableResponseDTO = productService.findAllProducts(pageable, true);
 
         Assertions.assertEquals(productResponseDto.getProduct(), pageableResponseDTO.getContent().get(0).getProduct());
         Assertions.assertEquals(productResponseDto.getSerialNumber(), pageableResponseDTO.getContent().get(0).getSerialNumber());
         Assertions.assertEquals(productResponseDto.getQuantity(), pageableResponseDTO.getContent().get(0).getQuantity());
         Assertions.assertEquals(productResponseDto.getPrice(), pageableResponseDTO.getContent().get(0).getPrice());
         Assertions.assertEquals(1, pageableResponseDTO.getContent().size());
+        Assertions.assertEquals(1L, pageableResponseDTO.getTotalRecords());
+        Assertions.assertEquals(1, pageableResponseDTO.getTotalPages());
+
+        verify(productRepository, times(1)).findAllProjectedBy(any(Pageable.class));
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar um Pageable sem totais e sem consultar o total quando withTotal for falso")
+    void mustBeReturnPageProductResponseWithoutTotals() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<ProductResponseDTO> productSlice = new SliceImpl<>(pageableResponseDto.getContent(), pageable, true);
+
+        when(productRepository.findAllProjectedBy(any(Pageable.class))).thenReturn(productSlice);
+
+        PageableResponseDTO pageableResponseDTO = productService.findAllProducts(pageable, false);
+
+        Assertions.assertEquals(1, pageableResponseDTO.getContent().size());
+        Assertions.assertNull(pageableResponseDTO.getTotalRecords());
+        Assertions.assertNull(pageableResponseDTO.getTotalPages());
+        Assertions.assertFalse(pageableResponseDTO.isLastPage());
+
+        verifyNoInteractions(productCountCache);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar produtos filtrados por faixa de preco ordenados por preco quando nao houver ordenacao")
+    @SuppressWarnings("unchecked")
+    void mustBeReturnFilteredProductsSortedByPriceByDefault() throws InvalidFilterException {
+
+        ProductFilterDTO productFilterDTO = ProductFilterDTO.builder()
+                .minPrice(BigDecimal.ONE)
+                .maxPrice(BigDecimal.valueOf(5000))
+                .inStock(true)
+                .build();
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        when(productRepository.findAll(any(Specification.class), pageableCaptor.capture()))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(product), invocation.getArgument(1), 1));
+
+        PageableResponseDTO pageableResponseDTO = productService.findProductsByFilter(productFilterDTO,
+                PageRequest.of(0, 10), true);
+
+        Assertions.assertEquals(1, pageableResponseDTO.getContent().size());
+        Assertions.assertEquals(SERIAL_NUMBER, pageableResponseDTO.getContent().get(0).getSerialNumber());
+        Assertions.assertEquals(1L, pageableResponseDTO.getTotalRecords());
+        Assertions.assertEquals(Sort.by("price", "quantity", "id"), pageableCaptor.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName(value = "Devera ordenar por quantidade quando o filtro possuir somente faixa de quantidade")
+    @SuppressWarnings("unchecked")
+    void mustBeSortByQuantityWhenFilterHasOnlyQuantityRange() throws InvalidFilterException {
+
+        ProductFilterDTO productFilterDTO = ProductFilterDTO.builder().minQuantity(10).build();
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        when(productRepository.findAll(any(Specification.class), pageableCaptor.capture()))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(product), invocation.getArgument(1), 1));
+
+        productService.findProductsByFilter(productFilterDTO, PageRequest.of(0, 10), true);
+
+        Assertions.assertEquals(Sort.by("quantity", "price", "id"), pageableCaptor.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName(value = "Devera completar a ordenacao informada com as colunas do indice e o id como desempate")
+    @SuppressWarnings("unchecked")
+    void mustBeAppendIndexColumnsAndIdToRequestedSort() throws InvalidFilterException {
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        when(productRepository.findAll(any(Specification.class), pageableCaptor.capture()))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(product), invocation.getArgument(1), 1));
+
+        productService.findProductsByFilter(new ProductFilterDTO(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")), true);
+
+        Assertions.assertEquals(Sort.by(Sort.Order.desc("price"), Sort.Order.asc("quantity"), Sort.Order.asc("id")),
+                pageableCaptor.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName(value = "Devera lancar InvalidFilterException quando o preco minimo for maior que o maximo")
+    void mustBeThrownInvalidFilterExceptionWhenRangeIsInverted() {
+
+        ProductFilterDTO productFilterDTO = ProductFilterDTO.builder()
+                .minPrice(BigDecimal.TEN)
+                .maxPrice(BigDecimal.ONE)
+                .build();
+
+        InvalidFilterException exception = Assertions.assertThrows(InvalidFilterException.class,
+                () -> productService.findProductsByFilter(productFilterDTO, PageRequest.of(0, 10), true));
+
+        Assertions.assertEquals(ProductServiceImpl.INVALID_FILTER_RANGE_ERROR_MESSAGE, exception.getMessage());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera lancar InvalidFilterException quando a ordenacao nao for por preco ou quantidade")
+    void mustBeThrownInvalidFilterExceptionWhenSortIsNotSupported() {
 
-        verify(productRepository, times(1)).findAll(any(Pageable.class));
+        InvalidFilterException exception = Assertions.assertThrows(InvalidFilterException.class,
+                () -> productService.findProductsByFilter(new ProductFilterDTO(),
+                        PageRequest.of(0, 10, Sort.by("product")), true));
+
+        Assertions.assertEquals(ProductServiceImpl.INVALID_FILTER_SORT_ERROR_MESSAGE, exception.getMessage());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -231,6 +462,8 @@ public class ProductServiceImplTest {
         doNothing().when(productRepository).delete(any(Product.class));
 
         Assertions.assertDoesNotThrow(() -> productService.deleteProductBySerialNumber(SERIAL_NUMBER));
+
+        verify(productSearchIndex).remove(SERIAL_NUMBER);
     }
 
     @Test
@@ -248,4 +481,595 @@ public class ProductServiceImplTest {
         verify(productRepository, times(1)).findBySerialNumber(anyString());
         verifyNoMoreInteractions(productRepository);
     }
+
+    @Test
+    @DisplayName(value = "Devera incrementar o estoque de um produto diretamente no banco de dados")
+    void mustBeIncrementStockWithoutLoadingProduct() {
+
+        when(productRepository.incrementQuantity(anyString(), anyInt())).thenReturn(1);
+
+        Assertions.assertDoesNotThrow(() -> productService.adjustStockBySerialNumber(SERIAL_NUMBER, 5));
+
+        verify(productRepository, times(1)).incrementQuantity(SERIAL_NUMBER, 5);
+        verify(productRepository, times(1)).evictSecondLevelCache(SERIAL_NUMBER);
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera decrementar o estoque de um produto quando houver unidades disponiveis")
+    void mustBeDecrementStockWhenAvailable() {
+
+        when(productRepository.decrementQuantityIfAvailable(anyString(), anyInt())).thenReturn(1);
+
+        Assertions.assertDoesNotThrow(() -> productService.adjustStockBySerialNumber(SERIAL_NUMBER, -5));
+
+        verify(productRepository, times(1)).decrementQuantityIfAvailable(SERIAL_NUMBER, 5);
+        verify(productRepository, times(1)).evictSecondLevelCache(SERIAL_NUMBER);
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar um erro InsufficientStockException quando nao houver estoque suficiente")
+    void mustBeThrownInsufficientStockExceptionWhenStockIsNotAvailable() {
+
+        when(productRepository.decrementQuantityIfAvailable(anyString(), anyInt())).thenReturn(0);
+        when(productRepository.existsBySerialNumber(anyString())).thenReturn(true);
+
+        Throwable response = Assertions.assertThrows(InsufficientStockException.class, () ->
+                productService.adjustStockBySerialNumber(SERIAL_NUMBER, -50));
+
+        Assertions.assertEquals("Estoque insuficiente para o produto com o serialNumber informado", response.getMessage());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar InvalidStockAdjustmentException quando o decremento nao puder ser negado")
+    void mustBeThrownInvalidStockAdjustmentExceptionWhenDecrementOverflows() {
+
+        Assertions.assertThrows(InvalidStockAdjustmentException.class, () ->
+                productService.adjustStockBySerialNumber(SERIAL_NUMBER, Integer.MIN_VALUE));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar InvalidStockAdjustmentException quando o incremento exceder o limite do estoque")
+    void mustBeThrownInvalidStockAdjustmentExceptionWhenIncrementOverflows() {
+
+        when(productRepository.incrementQuantity(anyString(), anyInt())).thenReturn(0);
+        when(productRepository.existsBySerialNumber(anyString())).thenReturn(true);
+
+        Assertions.assertThrows(InvalidStockAdjustmentException.class, () ->
+                productService.adjustStockBySerialNumber(SERIAL_NUMBER, Integer.MAX_VALUE));
+
+        verify(productCache, never()).evict(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar um erro ProductNotFoundException quando ajustar o estoque de um produto inexistente")
+    void mustBeThrownProductNotFoundExceptionWhenAdjustStockOfNotExistProduct() {
+
+        when(productRepository.incrementQuantity(anyString(), anyInt())).thenReturn(0);
+        when(productRepository.existsBySerialNumber(anyString())).thenReturn(false);
+
+        Throwable response = Assertions.assertThrows(ProductNotFoundException.class, () ->
+                productService.adjustStockBySerialNumber(SERIAL_NUMBER, 5));
+
+        Assertions.assertEquals("Produto nao localizado com o serialNumber informado", response.getMessage());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar o produto do cache sem consultar o banco de dados")
+    void mustBeReturnCachedProductWithoutQueryingDatabase() throws ProductNotFoundException, ProductLookupTimeoutException {
+
+        when(productCache.get(anyString())).thenReturn(Optional.of(productResponseDto));
+
+        ProductResponseDTO response = productService.findProductBySerialNumber(SERIAL_NUMBER);
+
+        Assertions.assertSame(productResponseDto, response);
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera armazenar no cache o produto buscado no banco de dados")
+    void mustBeCacheProductLoadedFromDatabase() throws ProductNotFoundException, ProductLookupTimeoutException {
+
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+
+        ProductResponseDTO response = productService.findProductBySerialNumber(SERIAL_NUMBER);
+
+        verify(productCache, times(1)).put(response);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar ProductNotFoundException do cache negativo sem consultar o banco de dados")
+    void mustBeThrownProductNotFoundExceptionFromNegativeCache() {
+
+        when(productCache.isKnownMissing(anyString())).thenReturn(true);
+
+        Assertions.assertThrows(ProductNotFoundException.class, () -> productService.findProductBySerialNumber(SERIAL_NUMBER));
+
+        verifyNoInteractions(productRepository);
+        verify(productMetrics).notFound(ProductMetrics.SOURCE_NEGATIVE_CACHE);
+    }
+
+    @Test
+    @DisplayName(value = "Devera invalidar o serialNumber antigo no cache quando a atualizacao alterar o serialNumber")
+    void mustBeEvictOldSerialNumberWhenUpdateChangesSerialNumber() throws ProductNotFoundException {
+
+        Product responseProduct = Product.builder()
+                .quantity(23)
+                .serialNumber("BBBSD93847")
+                .price(BigDecimal.valueOf(3049.44))
+                .product("Cabo USB tipo C")
+                .build();
+
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenReturn(responseProduct);
+
+        ProductResponseDTO response = productService.updateProductBySerialNumber(SERIAL_NUMBER, productRequestDto);
+
+        verify(productCache, times(1)).evict(SERIAL_NUMBER);
+        verify(productCache, times(1)).put(response);
+        Assertions.assertEquals("BBBSD93847", response.getSerialNumber());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a primeira pagina por cursor com o proximo cursor preenchido")
+    void mustBeReturnFirstCursorPageWithNextCursor() throws InvalidCursorException {
+
+        List<ProductResponseDTO> products = List.of(
+                ProductResponseDTO.builder().id(1L).serialNumber("A1").quantity(1).build(),
+                ProductResponseDTO.builder().id(2L).serialNumber("A2").quantity(1).build(),
+                ProductResponseDTO.builder().id(3L).serialNumber("A3").quantity(1).build());
+
+        when(productRepository.findAllProjectedByIdGreaterThan(anyLong(), any(Limit.class))).thenReturn(products);
+
+        CursorPageResponseDTO response = productService.findAllProductsAfterCursor(null, 2);
+
+        Assertions.assertEquals(2, response.getContent().size());
+        Assertions.assertFalse(response.isLastPage());
+        Assertions.assertEquals(2L, ProductServiceImplMapper.decodeCursor(response.getNextCursor()));
+
+        verify(productRepository, times(1)).findAllProjectedByIdGreaterThan(0L, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a ultima pagina por cursor sem proximo cursor")
+    void mustBeReturnLastCursorPageWithoutNextCursor() throws InvalidCursorException {
+
+        when(productRepository.findAllProjectedByIdGreaterThan(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(ProductResponseDTO.builder().id(3L).serialNumber("A3").quantity(1).build()));
+
+        CursorPageResponseDTO response = productService.findAllProductsAfterCursor(
+                ProductServiceImplMapper.encodeCursor(2L), 2);
+
+        Assertions.assertEquals(1, response.getContent().size());
+        Assertions.assertTrue(response.isLastPage());
+        Assertions.assertNull(response.getNextCursor());
+
+        verify(productRepository, times(1)).findAllProjectedByIdGreaterThan(2L, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar um erro InvalidCursorException quando o cursor for invalido")
+    void mustBeThrownInvalidCursorExceptionWhenCursorIsInvalid() {
+
+        Throwable response = Assertions.assertThrows(InvalidCursorException.class, () ->
+                productService.findAllProductsAfterCursor("@@invalido@@", 20));
+
+        Assertions.assertEquals("Cursor de paginacao invalido", response.getMessage());
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera agrupar serialNumbers duplicados e gravar o lote em blocos")
+    @SuppressWarnings("unchecked")
+    void mustBeMergeDuplicatedSerialNumbersAndWriteInChunks() throws BulkLimitExceededException {
+
+        productBulkProperties.setChunkSize(2);
+
+        when(productBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<ProductRequestDTO> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(item -> BulkItemResultDTO.builder()
+                            .serialNumber(item.getSerialNumber())
+                            .quantity(item.getQuantity())
+                            .status(BulkItemStatus.CREATED)
+                            .build())
+                    .toList();
+        });
+
+        List<ProductRequestDTO> items = List.of(
+                ProductRequestDTO.builder().serialNumber("A1").quantity(1).build(),
+                ProductRequestDTO.builder().serialNumber("A2").quantity(2).build(),
+                ProductRequestDTO.builder().serialNumber("A1").quantity(3).build(),
+                ProductRequestDTO.builder().serialNumber("A3").quantity(4).build(),
+                ProductRequestDTO.builder().quantity(5).build());
+
+        BulkInsertResponseDTO response = productService.insertProducts(items);
+
+        ArgumentCaptor<List<ProductRequestDTO>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(productBatchWriter, times(2)).writeChunk(chunks.capture());
+
+        Assertions.assertEquals(List.of("A1", "A2"), chunks.getAllValues().get(0).stream()
+                .map(ProductRequestDTO::getSerialNumber).toList());
+        Assertions.assertEquals(4, chunks.getAllValues().get(0).get(0).getQuantity());
+        Assertions.assertEquals(1, items.get(0).getQuantity());
+        Assertions.assertEquals(5, response.getReceivedItems());
+        Assertions.assertEquals(3, response.getCreated());
+        Assertions.assertEquals(1, response.getFailed());
+
+        verify(productCache, times(1)).evict("A1");
+        verify(productCountCache, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar o lote em fluxo bloco a bloco e interromper ao exceder o limite de itens")
+    @SuppressWarnings("unchecked")
+    void mustBeWriteStreamedBulkInChunksAndStopAboveLimit() {
+
+        productBulkProperties.setChunkSize(2);
+        productBulkProperties.setMaxItems(5);
+
+        when(productBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<ProductRequestDTO> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(item -> BulkItemResultDTO.builder()
+                            .serialNumber(item.getSerialNumber())
+                            .quantity(item.getQuantity())
+                            .status(BulkItemStatus.CREATED)
+                            .build())
+                    .toList();
+        });
+
+        AtomicInteger consumedItems = new AtomicInteger();
+        Iterator<ProductRequestDTO> items = IntStream.range(0, 1_000)
+                .peek(i -> consumedItems.incrementAndGet())
+                .mapToObj(i -> ProductRequestDTO.builder().serialNumber("S" + i).quantity(1).build())
+                .iterator();
+
+        Assertions.assertThrows(BulkLimitExceededException.class, () -> productService.insertProductsFromStream(items));
+
+        ArgumentCaptor<List<ProductRequestDTO>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(productBatchWriter, times(2)).writeChunk(chunks.capture());
+        Assertions.assertEquals(List.of("S0", "S1"), chunks.getAllValues().get(0).stream()
+                .map(ProductRequestDTO::getSerialNumber).toList());
+        Assertions.assertEquals(6, consumedItems.get());
+        verify(productSearchIndex).put("S3", null);
+        verify(productCountCache, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName(value = "Devera marcar os itens do bloco como falha quando o reprocessamento tambem falhar")
+    void mustBeMarkChunkAsFailedWhenRetryFails() throws BulkLimitExceededException {
+
+        when(productBatchWriter.writeChunk(anyList()))
+                .thenThrow(new DataIntegrityViolationException("ux_tb_produtos_serial_number"));
+
+        BulkInsertResponseDTO response = productService.insertProducts(List.of(productRequestDto));
+
+        Assertions.assertEquals(1, response.getFailed());
+        Assertions.assertEquals(BulkItemStatus.FAILED, response.getResults().get(0).getStatus());
+
+        verify(productBatchWriter, times(2)).writeChunk(anyList());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar um erro BulkLimitExceededException quando o lote exceder o limite de itens")
+    void mustBeThrownBulkLimitExceededExceptionWhenBulkIsTooLarge() {
+
+        productBulkProperties.setMaxItems(1);
+
+        Assertions.assertThrows(BulkLimitExceededException.class, () ->
+                productService.insertProducts(List.of(productRequestDto, productRequestDto)));
+
+        verifyNoInteractions(productBatchWriter);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a versao do produto em cache sem consultar o banco de dados")
+    void mustBeReturnVersionFromCachedProduct() throws ProductNotFoundException {
+
+        productResponseDto.setId(1L);
+        productResponseDto.setVersion(7L);
+        when(productCache.get(anyString())).thenReturn(Optional.of(productResponseDto));
+
+        Assertions.assertEquals(new ProductVersionDTO(1L, 7L), productService.findProductVersionBySerialNumber(SERIAL_NUMBER));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar a versao do produto consultando somente a coluna de versao")
+    void mustBeReturnVersionFromLightweightLookup() throws ProductNotFoundException {
+
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findVersionBySerialNumber(anyString()))
+                .thenReturn(Optional.of(new ProductVersionDTO(1L, 4L)));
+
+        Assertions.assertEquals(new ProductVersionDTO(1L, 4L), productService.findProductVersionBySerialNumber(SERIAL_NUMBER));
+
+        verify(productRepository, never()).findBySerialNumber(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar ProductNotFoundException ao buscar a versao de um produto inexistente")
+    void mustBeThrownProductNotFoundExceptionWhenVersionNotExist() {
+
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findVersionBySerialNumber(anyString())).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ProductNotFoundException.class,
+                () -> productService.findProductVersionBySerialNumber(SERIAL_NUMBER));
+
+        verify(productCache).markMissing(SERIAL_NUMBER);
+        verify(productMetrics).notFound(ProductMetrics.SOURCE_DATABASE);
+    }
+
+    @Test
+    @DisplayName(value = "Devera atualizar o produto com um unico UPDATE condicional pela versao")
+    void mustBeUpdateProductWithConditionalUpdate() throws Exception {
+
+        productResponseDto.setVersion(4L);
+        when(productRepository.updateIfVersionMatches(anyString(), anyLong(), anyLong(), any(), any(), any())).thenReturn(1);
+        when(productRepository.findProjectedBySerialNumber(SERIAL_NUMBER)).thenReturn(Optional.of(productResponseDto));
+
+        ProductResponseDTO response = productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, 1L,
+                3L, productRequestDto);
+
+        Assertions.assertEquals(4L, response.getVersion());
+        verify(productRepository).updateIfVersionMatches(SERIAL_NUMBER, 1L, 3L, productRequestDto.getProduct(),
+                productRequestDto.getSerialNumber(), productRequestDto.getPrice());
+        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).findBySerialNumber(anyString());
+        verify(productRepository).evictSecondLevelCache(1L, SERIAL_NUMBER);
+        verify(productCache).evict(SERIAL_NUMBER);
+        verify(productCache).put(response);
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar ProductVersionMismatchException quando a versao informada estiver desatualizada")
+    void mustBeThrownProductVersionMismatchExceptionWhenVersionIsStale() {
+
+        when(productRepository.updateIfVersionMatches(anyString(), anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(productRepository.existsBySerialNumber(anyString())).thenReturn(true);
+
+        Assertions.assertThrows(ProductVersionMismatchException.class,
+                () -> productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, 1L, 2L, productRequestDto));
+
+        verify(productRepository, never()).findBySerialNumber(anyString());
+        verify(productCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar ProductNotFoundException na atualizacao condicional de um produto inexistente")
+    void mustBeThrownProductNotFoundExceptionWhenConditionalUpdateOfNotExistProduct() {
+
+        when(productRepository.updateIfVersionMatches(anyString(), anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(productRepository.existsBySerialNumber(anyString())).thenReturn(false);
+
+        Assertions.assertThrows(ProductNotFoundException.class,
+                () -> productService.updateProductBySerialNumberIfVersionMatches(SERIAL_NUMBER, 1L, 2L, productRequestDto));
+    }
+
+    @Test
+    @DisplayName(value = "Devera buscar em lote consultando o banco somente para os serialNumbers ausentes do cache")
+    void mustBeLookupOnlyCacheMissesInChunks() throws BulkLimitExceededException {
+
+        productLookupProperties.setChunkSize(2);
+        ProductResponseDTO cachedProduct = ProductResponseDTO.builder().serialNumber("A").build();
+        ProductResponseDTO productB = ProductResponseDTO.builder().serialNumber("B").build();
+        ProductResponseDTO productD = ProductResponseDTO.builder().serialNumber("D").build();
+
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productCache.get("A")).thenReturn(Optional.of(cachedProduct));
+        when(productCache.isKnownMissing("E")).thenReturn(true);
+        when(productRepository.findAllProjectedBySerialNumberIn(List.of("B", "C"))).thenReturn(List.of(productB));
+        when(productRepository.findAllProjectedBySerialNumberIn(List.of("D"))).thenReturn(List.of(productD));
+
+        ProductLookupResponseDTO response = productService.findProductsBySerialNumbers(
+                List.of("A", "B", "C", "D", "E", "A", " "));
+
+        Assertions.assertEquals(List.of("A", "B", "D"), List.copyOf(response.getProducts().keySet()));
+        Assertions.assertSame(cachedProduct, response.getProducts().get("A"));
+        Assertions.assertEquals(List.of("C", "E"), response.getMissingSerialNumbers());
+
+        verify(productRepository, times(2)).findAllProjectedBySerialNumberIn(anyList());
+        verify(productCache).put(productB);
+        verify(productCache).put(productD);
+        verify(productCache).markMissing("C");
+        verify(productCache, never()).markMissing("E");
+    }
+
+    @Test
+    @DisplayName(value = "Devera nao armazenar no cache o produto lido da replica")
+    void mustBeNotCacheProductLoadedFromReplica() throws ProductNotFoundException, ProductLookupTimeoutException {
+
+        replicaDataSourceProperties.setEnabled(true);
+        when(productRepository.findBySerialNumber(SERIAL_NUMBER)).thenReturn(Optional.of(product));
+        when(productRepository.findBySerialNumber("B")).thenReturn(Optional.empty());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            productService.findProductBySerialNumber(SERIAL_NUMBER);
+            Assertions.assertThrows(ProductNotFoundException.class, () -> productService.findProductBySerialNumber("B"));
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        verify(productCache, never()).put(any(ProductResponseDTO.class));
+        verify(productCache, never()).markMissing(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera nao armazenar no cache nem no cache negativo a busca em lote lida da replica")
+    void mustBeNotCacheLookupLoadedFromReplica() throws BulkLimitExceededException {
+
+        replicaDataSourceProperties.setEnabled(true);
+        ProductResponseDTO productA = ProductResponseDTO.builder().serialNumber("A").build();
+
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findAllProjectedBySerialNumberIn(List.of("A", "B"))).thenReturn(List.of(productA));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ProductLookupResponseDTO response;
+        try {
+            response = productService.findProductsBySerialNumbers(List.of("A", "B"));
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        Assertions.assertSame(productA, response.getProducts().get("A"));
+        Assertions.assertEquals(List.of("B"), response.getMissingSerialNumbers());
+        verify(productCache, never()).put(any(ProductResponseDTO.class));
+        verify(productCache, never()).markMissing(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera retornar BulkLimitExceededException quando a busca em lote exceder o limite de serialNumbers")
+    void mustBeThrownBulkLimitExceededExceptionWhenLookupExceedsLimit() {
+
+        productLookupProperties.setMaxItems(1);
+
+        Assertions.assertThrows(BulkLimitExceededException.class,
+                () -> productService.findProductsBySerialNumbers(List.of("A", "B")));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera compartilhar uma unica consulta ao banco entre buscas concorrentes do mesmo serialNumber")
+    void mustBeShareSingleQueryAcrossConcurrentLookups() throws Exception {
+
+        int callers = 32;
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findBySerialNumber(anyString())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return Optional.of(product);
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        List<Future<ProductResponseDTO>> futures = new ArrayList<>();
+        futures.add(executorService.submit(() -> productService.findProductBySerialNumber(SERIAL_NUMBER)));
+        queryStarted.await();
+        for (int i = 1; i < callers; i++) {
+            futures.add(executorService.submit(() -> productService.findProductBySerialNumber(SERIAL_NUMBER)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(ProductLookupCoalescer.WAITING_GAUGE).gauge().value() < callers - 1) {
+            Assertions.assertTrue(System.nanoTime() < deadline);
+            Thread.yield();
+        }
+        releaseQuery.countDown();
+
+        ProductResponseDTO first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<ProductResponseDTO> future : futures) {
+            Assertions.assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        verify(productRepository, times(1)).findBySerialNumber(SERIAL_NUMBER);
+        verify(productCache, times(1)).put(first);
+    }
+
+    @Test
+    @DisplayName(value = "Devera enfileirar a reposicao no buffer de estoque quando o produto estiver em cache")
+    void mustBeBufferRestockOfCachedProduct() {
+
+        ProductResponseDTO restockedProduct = ProductResponseDTO.builder()
+                .serialNumber(SERIAL_NUMBER)
+                .quantity(productResponseDto.getQuantity() + productRequestDto.getQuantity())
+                .build();
+        when(stockWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(productCache.addQuantity(anyString(), anyInt())).thenReturn(Optional.of(restockedProduct));
+
+        ProductResponseDTO response = productService.insertProduct(productRequestDto);
+
+        Assertions.assertSame(restockedProduct, response);
+        verify(productCache).addQuantity(SERIAL_NUMBER, productRequestDto.getQuantity());
+        verify(stockWriteBehindBuffer).add(SERIAL_NUMBER, productRequestDto.getQuantity());
+        verify(productRepository, never()).upsertStock(anyString(), anyString(), any(), anyInt());
+        verify(productCountCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar a reposicao diretamente quando o produto nao estiver em cache")
+    void mustBeUpsertRestockWhenProductIsNotCached() {
+
+        when(stockWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findBySerialNumber(anyString())).thenReturn(Optional.of(product));
+
+        productService.insertProduct(productRequestDto);
+
+        verify(stockWriteBehindBuffer, never()).add(anyString(), anyInt());
+        verify(productRepository).upsertStock(anyString(), anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName(value = "Devera gravar as reposicoes pendentes do buffer antes da retirada de estoque sincrona")
+    void mustBeKeepStockDecrementSynchronousWithWriteBehind() throws Exception {
+
+        when(stockWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(productCache.get(anyString())).thenReturn(Optional.of(productResponseDto));
+        when(productRepository.decrementQuantityIfAvailable(anyString(), anyInt())).thenReturn(1);
+
+        productService.adjustStockBySerialNumber(SERIAL_NUMBER, -2);
+
+        InOrder inOrder = inOrder(stockWriteBehindBuffer, productRepository, productCache);
+        inOrder.verify(stockWriteBehindBuffer).flush(SERIAL_NUMBER);
+        inOrder.verify(productRepository).decrementQuantityIfAvailable(SERIAL_NUMBER, 2);
+        inOrder.verify(productCache).evict(SERIAL_NUMBER);
+        verify(stockWriteBehindBuffer, never()).add(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName(value = "Devera buscar produtos pelo nome mantendo a ordem do indice de busca")
+    void mustBeSearchProductsByNameInIndexOrder() {
+
+        ProductResponseDTO cachedProduct = ProductResponseDTO.builder().serialNumber("A").product("Cabo USB").build();
+        ProductResponseDTO productB = ProductResponseDTO.builder().serialNumber("B").product("Cabo HDMI").build();
+
+        when(productSearchIndex.search("cabo", 10)).thenReturn(List.of("B", "A"));
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productCache.get("A")).thenReturn(Optional.of(cachedProduct));
+        when(productRepository.findAllProjectedBySerialNumberIn(List.of("B"))).thenReturn(List.of(productB));
+
+        List<ProductResponseDTO> response = productService.searchProductsByName("cabo", null);
+
+        Assertions.assertEquals(List.of(productB, cachedProduct), response);
+        verify(productSearchIndex, never()).remove(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Devera limitar a quantidade de resultados da busca pelo nome ao maximo configurado")
+    void mustBeClampSearchLimitToConfiguredMaximum() {
+
+        when(productSearchIndex.search(anyString(), anyInt())).thenReturn(List.of());
+
+        Assertions.assertTrue(productService.searchProductsByName("cabo", 500).isEmpty());
+        Assertions.assertTrue(productService.searchProductsByName("cabo", 0).isEmpty());
+
+        verify(productSearchIndex).search("cabo", productSearchProperties.getMaxLimit());
+        verify(productSearchIndex).search("cabo", 1);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Devera omitir da busca pelo nome os serialNumbers nao localizados sem remove-los do indice de busca")
+    void mustBeSkipMissingSerialNumbersWithoutRemovingFromSearchIndex() {
+
+        when(productSearchIndex.search("cabo", 10)).thenReturn(List.of(SERIAL_NUMBER));
+        when(productCache.get(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findAllProjectedBySerialNumberIn(List.of(SERIAL_NUMBER))).thenReturn(List.of());
+
+        Assertions.assertTrue(productService.searchProductsByName("cabo", null).isEmpty());
+
+        verify(productSearchIndex, never()).remove(anyString());
+    }
 }